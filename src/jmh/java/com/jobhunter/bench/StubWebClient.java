@@ -0,0 +1,38 @@
+package com.jobhunter.bench;
+
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * WebClient builders answering every request from memory, so provider benchmarks measure
+ * decoding and mapping rather than the network.
+ */
+public final class StubWebClient {
+
+    private StubWebClient() {
+    }
+
+    /**
+     * @param bodies maps a request path to the JSON body to answer with, or null for a 404
+     */
+    public static WebClient.Builder builder(Function<String, byte[]> bodies) {
+        return WebClient.builder().exchangeFunction(request -> {
+            byte[] body = bodies.apply(request.url().getPath());
+            if (body == null) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build());
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.jobhunter.bench;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator of job postings and profiles for benchmarks. Descriptions mix filler
+ * vocabulary with technology skills at roughly the density seen in real feeds.
+ */
+public final class SyntheticCorpus {
+
+    public static final List<String> SKILLS = List.of(
+            "java", "spring", "spring boot", "sql", "postgresql", "mysql", "docker", "aws", "kubernetes", "python",
+            "javascript", "react", "go", "microservices", "rest", "api", "git", "maven", "gradle", "jenkins", "kafka",
+            "typescript", "node.js", "terraform", "redis", "graphql", "scala", "rust", "c++", "c#"
+    );
+
+    private static final String[] TITLES = {
+            "Backend Engineer", "Senior Backend Engineer", "Software Engineer", "Java Developer", "Frontend Engineer",
+            "Full Stack Developer", "DevOps Engineer", "Site Reliability Engineer", "Data Engineer", "Platform Engineer",
+            "Staff Software Engineer", "Mobile Developer", "Machine Learning Engineer", "Engineering Manager"
+    };
+
+    private static final String[] COMPANIES = {
+            "Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark Industries", "Wayne Enterprises", "Soylent",
+            "Cyberdyne", "Tyrell", "Wonka", "Vandelay Industries"
+    };
+
+    private static final String[] LOCATIONS = {
+            "Remote", "Worldwide/Remote", "Berlin, Germany", "London, UK", "New York, NY", "Bangalore, India",
+            "Remote/Unknown", "Amsterdam, Netherlands"
+    };
+
+    private static final String[] FILLER = buildFiller(2_000);
+
+    private SyntheticCorpus() {
+    }
+
+    public static List<JobPosting> postings(int count, long seed) {
+        Random random = new Random(seed);
+        List<JobPosting> postings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            postings.add(posting(i, random));
+        }
+        return postings;
+    }
+
+    public static JobPosting posting(int i, Random random) {
+        StringBuilder description = new StringBuilder(512);
+        int words = 40 + random.nextInt(60);
+        for (int w = 0; w < words; w++) {
+            if (random.nextInt(12) == 0) {
+                description.append(SKILLS.get(random.nextInt(SKILLS.size())));
+            } else {
+                description.append(FILLER[random.nextInt(FILLER.length)]);
+            }
+            description.append(w % 15 == 14 ? ". " : " ");
+        }
+        return new JobPosting(
+                "job-" + i,
+                TITLES[random.nextInt(TITLES.length)],
+                COMPANIES[random.nextInt(COMPANIES.length)],
+                LOCATIONS[random.nextInt(LOCATIONS.length)],
+                description.toString(),
+                "https://jobs.example.com/" + i
+        );
+    }
+
+    public static CandidateProfile profile(int skillCount, long seed) {
+        Random random = new Random(seed);
+        List<String> skills = new ArrayList<>(SKILLS);
+        Collections.shuffle(skills, random);
+        return new CandidateProfile(
+                "Bench User",
+                5,
+                List.copyOf(skills.subList(0, Math.min(skillCount, skills.size()))),
+                List.of("Backend Engineer", "Software Engineer", "Java Developer")
+        );
+    }
+
+    private static String[] buildFiller(int size) {
+        Random random = new Random(42);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            int length = 3 + random.nextInt(8);
+            StringBuilder word = new StringBuilder(length);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
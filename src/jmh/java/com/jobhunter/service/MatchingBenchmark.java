@@ -0,0 +1,73 @@
+package com.jobhunter.service;
+
+import com.jobhunter.bench.Fixtures;
+import com.jobhunter.bench.SyntheticCorpus;
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.MatchedJob;
+import com.jobhunter.service.scoring.WeightedScoring;
+import com.jobhunter.text.SkillTaxonomy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MatchingService#matchAndRank} over synthetic corpora of increasing size, with postings
+ * whose text is already tokenized (a cached feed, the job store) or fresh from a provider. Run
+ * with {@code -prof gc} to see allocation per call alongside the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int postings;
+
+    @Param({"5", "20"})
+    public int profileSkills;
+
+    @Param({"true", "false"})
+    public boolean tokenized;
+
+    private MatchingService matchingService;
+    private CandidateProfile profile;
+    private List<JobPosting> corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SkillTaxonomy taxonomy = SkillTaxonomy.parse(Fixtures.text("skills.txt").lines().toList());
+        matchingService = new MatchingService(new SimpleMeterRegistry(), new WeightedScoring(taxonomy), 50, 0.1);
+        profile = SyntheticCorpus.profile(profileSkills, 11);
+        corpus = SyntheticCorpus.postings(postings, 7);
+        corpus.forEach(job -> job.text().descriptionTokens());
+    }
+
+    @Benchmark
+    public List<MatchedJob> matchAndRank() {
+        return matchingService.matchAndRank(profile, tokenized ? corpus : fresh());
+    }
+
+    private List<JobPosting> fresh() {
+        return corpus.stream()
+                .map(job -> new JobPosting(job.id(), job.title(), job.company(), job.location(), job.description(),
+                        job.applyUrl(), job.sources()))
+                .toList();
+    }
+}
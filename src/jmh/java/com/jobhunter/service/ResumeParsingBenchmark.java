@@ -0,0 +1,60 @@
+package com.jobhunter.service;
+
+import com.jobhunter.bench.Fixtures;
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.service.cache.ResumeCache;
+import com.jobhunter.text.SkillTaxonomy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ResumeService#parse(String)} on the resume texts in {@code src/jmh/resources/resumes},
+ * with the resume cache disabled so every call parses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeParsingBenchmark {
+
+    @Param({"senior-backend", "junior-frontend", "data-platform"})
+    public String resume;
+
+    /** Extra synthetic skills on top of the bundled taxonomy; parse time should not grow with it. */
+    @Param({"0", "5000"})
+    public int extraSkills;
+
+    private ResumeService resumeService;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder dictionary = new StringBuilder(Fixtures.text("skills.txt"));
+        for (int i = 0; i < extraSkills; i++) {
+            dictionary.append("\nskill").append(i).append(": alias").append(i).append(", multi word alias ").append(i);
+        }
+        SkillTaxonomy skills = SkillTaxonomy.parse(dictionary.toString().lines().toList());
+        resumeService = new ResumeService(new ResumeCache(skills, false, 0, "", 0), new SimpleMeterRegistry(), skills, 1, 1, 15000, 100000, 1, 1);
+        text = Fixtures.text("resumes/" + resume + ".txt");
+    }
+
+    @Benchmark
+    public CandidateProfile parse() {
+        return resumeService.parse(text);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobhunter.service.index;
+
+import com.jobhunter.bench.SyntheticCorpus;
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill lookup through {@link JobIndex} against the substring scan it replaces, at 10k, 100k
+ * and 1M postings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class JobIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int postings;
+
+    private List<JobPosting> corpus;
+    private JobIndex index;
+    private CandidateProfile profile;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        corpus = SyntheticCorpus.postings(postings, 7);
+        index = new JobIndex();
+        for (JobPosting posting : corpus) {
+            index.add(posting.id(), posting);
+        }
+        profile = SyntheticCorpus.profile(12, 11);
+        random = new Random(3);
+    }
+
+    @Benchmark
+    public DocIdSet singleSkillLookup() {
+        return index.docsMatching("kubernetes");
+    }
+
+    @Benchmark
+    public DocIdSet phraseLookup() {
+        return index.docsMatching("spring boot");
+    }
+
+    @Benchmark
+    public List<String> topCandidatesBySkillOverlap() {
+        return index.topByOverlap(profile.skills(), 200);
+    }
+
+    /** Replaces one posting, as an ingestion refresh does. */
+    @Benchmark
+    public void incrementalUpdate() {
+        JobPosting posting = corpus.get(random.nextInt(corpus.size()));
+        index.remove(posting.id());
+        index.add(posting.id(), posting);
+    }
+
+    /** The scan the index replaces: lowercase every description and look for every skill. */
+    @Benchmark
+    public int substringScanBaseline() {
+        int hits = 0;
+        for (JobPosting posting : corpus) {
+            String description = posting.description().toLowerCase(Locale.ROOT);
+            for (String skill : profile.skills()) {
+                if (description.contains(skill)) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,105 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.bench.SyntheticCorpus;
+import com.jobhunter.model.JobPosting;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained by the job store's postings, kept as {@link JobPosting} records (as the store did
+ * before) or as {@link CompactPosting}s. Each invocation builds the store from freshly parsed
+ * copies, as ingestion does, and reports the retained bytes as the {@code retainedBytes} and
+ * {@code bytesPerPosting} secondary results; the primary score is the time to build it. JMH sums
+ * such counters over iterations, hence the single measured iteration. Run with
+ * {@code -Pjmh.includes=PostingFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:+UseParallelGC"})
+public class PostingFootprintBenchmark {
+
+    @Param({"100000"})
+    public int postings;
+
+    private List<JobPosting> corpus;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+        public long bytesPerPosting;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        corpus = SyntheticCorpus.postings(postings, 7);
+    }
+
+    @Benchmark
+    public Object records(Footprint footprint) {
+        long before = usedHeap();
+        Map<String, JobStore.StoredPosting> store = new HashMap<>();
+        for (JobPosting posting : corpus) {
+            JobStore.StoredPosting stored = parsed(posting);
+            store.put("bench:" + posting.id(), stored);
+        }
+        record(footprint, before);
+        return store;
+    }
+
+    @Benchmark
+    public Object compact(Footprint footprint) {
+        long before = usedHeap();
+        Map<String, CompactPosting> store = new HashMap<>();
+        for (JobPosting posting : corpus) {
+            store.put("bench:" + posting.id(), CompactPosting.of(parsed(posting)));
+        }
+        record(footprint, before);
+        return store;
+    }
+
+    /** A copy with its own strings, like a posting fresh out of a provider's JSON. */
+    private static JobStore.StoredPosting parsed(JobPosting posting) {
+        JobPosting copy = new JobPosting(copy(posting.id()), copy(posting.title()), copy(posting.company()),
+                copy(posting.location()), copy(posting.description()), copy(posting.applyUrl()),
+                List.of(copy("bench")));
+        return new JobStore.StoredPosting(copy("bench"), copy, 0L, 0L);
+    }
+
+    /** {@code new String(String)} would share the original's bytes. */
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private void record(Footprint footprint, long before) {
+        footprint.retainedBytes = usedHeap() - before;
+        footprint.bytesPerPosting = footprint.retainedBytes / postings;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
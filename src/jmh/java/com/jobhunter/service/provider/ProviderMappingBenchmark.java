@@ -0,0 +1,121 @@
+package com.jobhunter.service.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobhunter.bench.Fixtures;
+import com.jobhunter.bench.StubWebClient;
+import com.jobhunter.model.JobPosting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * JSON-to-{@link JobPosting} mapping of each provider, fed from the fixture payloads in
+ * {@code src/jmh/resources/fixtures} through an in-memory WebClient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderMappingBenchmark {
+
+    private static final String BASE_URL = "http://fixtures.local";
+
+    @Param({"remotive", "remoteok", "arbeitnow", "adzuna", "jooble", "yc"})
+    public String provider;
+
+    private Supplier<List<JobPosting>> fetch;
+    private YCombinatorJobProvider ycProvider;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // every fixture is a single page
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("bench", Map.of("job.pagination.max_pages", "1")));
+        Paginator paginator = new Paginator(environment);
+        switch (provider) {
+            case "remotive" -> {
+                RemotiveJobProvider remotive = new RemotiveJobProvider(serving("remotive.json"), paginator, BASE_URL);
+                fetch = () -> remotive.getJobs("java");
+            }
+            case "remoteok" -> {
+                RemoteOKJobProvider remoteOk = new RemoteOKJobProvider(serving("remoteok.json"), BASE_URL);
+                fetch = remoteOk::fetchFeed;
+            }
+            case "arbeitnow" -> {
+                ArbeitnowJobProvider arbeitnow = new ArbeitnowJobProvider(serving("arbeitnow.json"), paginator, BASE_URL);
+                fetch = arbeitnow::fetchFeed;
+            }
+            case "adzuna" -> {
+                AdzunaJobProvider adzuna = new AdzunaJobProvider(serving("adzuna.json"), paginator, BASE_URL, "bench", "bench");
+                fetch = () -> adzuna.getJobs("java");
+            }
+            case "jooble" -> {
+                JoobleJobProvider jooble = new JoobleJobProvider(serving("jooble.json"), paginator, BASE_URL, "bench");
+                fetch = () -> jooble.getJobs("java");
+            }
+            case "yc" -> {
+                ycProvider = new YCombinatorJobProvider(StubWebClient.builder(hackerNewsBodies()), BASE_URL, 100, 16, 3000);
+                fetch = ycProvider::fetchFeed;
+            }
+            default -> throw new IllegalArgumentException("Unknown provider " + provider);
+        }
+        if (fetch.get().isEmpty()) {
+            throw new IllegalStateException(provider + " mapped no postings from its fixture");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (ycProvider != null) {
+            ycProvider.close();
+        }
+    }
+
+    @Benchmark
+    public List<JobPosting> mapFixture() {
+        return fetch.get();
+    }
+
+    private static WebClient.Builder serving(String fixture) {
+        byte[] body = Fixtures.bytes("fixtures/" + fixture);
+        return StubWebClient.builder(path -> body);
+    }
+
+    private static Function<String, byte[]> hackerNewsBodies() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, byte[]> bodies = new HashMap<>();
+        bodies.put("/jobstories.json", Fixtures.bytes("fixtures/hn-jobstories.json"));
+        JsonNode items = mapper.readTree(Fixtures.bytes("fixtures/hn-items.json"));
+        for (Iterator<Map.Entry<String, JsonNode>> it = items.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> item = it.next();
+            bodies.put("/item/" + item.getKey() + ".json", mapper.writeValueAsBytes(item.getValue()));
+        }
+        return bodies::get;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.bench.Fixtures;
+import com.jobhunter.bench.SyntheticCorpus;
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.MatchedJob;
+import com.jobhunter.service.MatchingService;
+import com.jobhunter.text.SkillTaxonomy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rankings per second with the fixed-weight scorer and with BM25 over the same synthetic
+ * corpus, whose statistics are filled as the job store would fill them. Postings are already
+ * tokenized, so the numbers compare the scorers rather than tokenization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"weighted", "bm25"})
+    public String scoring;
+
+    @Param({"1000", "10000"})
+    public int postings;
+
+    @Param({"5", "20"})
+    public int profileSkills;
+
+    private MatchingService matchingService;
+    private CandidateProfile profile;
+    private List<JobPosting> corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SkillTaxonomy taxonomy = SkillTaxonomy.parse(Fixtures.text("skills.txt").lines().toList());
+        corpus = SyntheticCorpus.postings(postings, 7);
+        CorpusStatistics statistics = new CorpusStatistics(taxonomy);
+        corpus.forEach(job -> statistics.add(job.id(), job.text().descriptionTokens()));
+        ScoringStrategy strategy = scoring.equals("bm25")
+                ? new Bm25Scoring(taxonomy, statistics, 1.2, 0.75, 0.3)
+                : new WeightedScoring(taxonomy);
+        matchingService = new MatchingService(new SimpleMeterRegistry(), strategy, 50, 0.1);
+        profile = SyntheticCorpus.profile(profileSkills, 11);
+    }
+
+    @Benchmark
+    public List<MatchedJob> matchAndRank() {
+        return matchingService.matchAndRank(profile, corpus);
+    }
+}
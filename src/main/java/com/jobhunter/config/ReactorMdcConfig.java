@@ -0,0 +1,28 @@
+package com.jobhunter.config;
+
+import com.jobhunter.logging.RequestContext;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Carries the logging context of the subscribing thread to Reactor scheduler threads, so that
+ * provider calls moved onto {@code boundedElastic} still log with the request's correlation id.
+ */
+@Component
+public class ReactorMdcConfig {
+
+    private static final String HOOK = "request-context";
+
+    @PostConstruct
+    public void install() {
+        Schedulers.onScheduleHook(HOOK, RequestContext::wrap);
+    }
+
+    @PreDestroy
+    public void uninstall() {
+        Schedulers.resetOnScheduleHook(HOOK);
+    }
+}
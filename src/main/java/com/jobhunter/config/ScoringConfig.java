@@ -0,0 +1,41 @@
+package com.jobhunter.config;
+
+import com.jobhunter.service.scoring.Bm25Scoring;
+import com.jobhunter.service.scoring.CorpusStatistics;
+import com.jobhunter.service.scoring.ScoringStrategy;
+import com.jobhunter.service.scoring.WeightedScoring;
+import com.jobhunter.text.SkillTaxonomy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Picks how matches are scored from {@code job.matching.scoring}: {@code weighted} (fixed skill
+ * and title weights) or {@code bm25} (skills weighted by their rarity in the stored corpus).
+ */
+@Configuration
+public class ScoringConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringConfig.class);
+
+    @Bean
+    public ScoringStrategy scoringStrategy(SkillTaxonomy taxonomy,
+                                           CorpusStatistics statistics,
+                                           @Value("${job.matching.scoring:weighted}") String scoring,
+                                           @Value("${job.matching.bm25.k1:1.2}") double k1,
+                                           @Value("${job.matching.bm25.b:0.75}") double b,
+                                           @Value("${job.matching.bm25.title_weight:0.3}") double titleWeight) {
+        ScoringStrategy strategy = switch (scoring.strip().toLowerCase(Locale.ROOT)) {
+            case "weighted" -> new WeightedScoring(taxonomy);
+            case "bm25" -> new Bm25Scoring(taxonomy, statistics, k1, b, titleWeight);
+            default -> throw new IllegalArgumentException("Unknown job.matching.scoring '" + scoring
+                    + "', expected 'weighted' or 'bm25'");
+        };
+        log.info("Scoring matches with {}.", strategy.name());
+        return strategy;
+    }
+}
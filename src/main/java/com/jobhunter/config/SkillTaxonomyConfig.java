@@ -0,0 +1,35 @@
+package com.jobhunter.config;
+
+import com.jobhunter.text.SkillTaxonomy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads the skill taxonomy from {@code job.skills.taxonomy_file} once at startup; resume
+ * parsing and job matching share it.
+ */
+@Configuration
+public class SkillTaxonomyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillTaxonomyConfig.class);
+
+    @Bean
+    public SkillTaxonomy skillTaxonomy(
+            @Value("${job.skills.taxonomy_file:${job.resume.skills_file:classpath:skills.txt}}") Resource file)
+            throws IOException {
+        SkillTaxonomy taxonomy;
+        try (InputStream in = file.getInputStream()) {
+            taxonomy = SkillTaxonomy.load(in);
+        }
+        log.info("Loaded {} skill(s) with {} name(s) and alias(es) from {}.",
+                taxonomy.size(), taxonomy.forms().size(), file.getDescription());
+        return taxonomy;
+    }
+}
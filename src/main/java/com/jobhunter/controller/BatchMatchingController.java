@@ -0,0 +1,46 @@
+package com.jobhunter.controller;
+
+import com.jobhunter.service.batch.BatchMatchReport;
+import com.jobhunter.service.batch.BatchMatchingService;
+import com.jobhunter.service.batch.BatchThroughput;
+import com.jobhunter.service.batch.BatchTooLargeException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+public class BatchMatchingController {
+
+    private final BatchMatchingService batchMatchingService;
+
+    public BatchMatchingController(BatchMatchingService batchMatchingService) {
+        this.batchMatchingService = batchMatchingService;
+    }
+
+    /**
+     * Matches every resume in the {@code resumes} parts (individual files and/or zips of them)
+     * and returns each candidate's best {@code topK} jobs.
+     */
+    @PostMapping("/batch/match-jobs")
+    public BatchMatchReport matchJobs(@RequestParam("resumes") List<MultipartFile> resumes,
+                                      @RequestParam(value = "topK", defaultValue = "0") int topK)
+            throws IOException, InterruptedException {
+        try {
+            return batchMatchingService.match(resumes, topK);
+        } catch (BatchTooLargeException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/batch/throughput")
+    public BatchThroughput throughput() {
+        return batchMatchingService.throughput();
+    }
+}
@@ -0,0 +1,28 @@
+package com.jobhunter.controller;
+
+import com.jobhunter.service.ingest.IngestionScheduler;
+import com.jobhunter.service.ingest.JobStore;
+import com.jobhunter.service.ingest.ProviderIngestionStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class IngestionController {
+
+    private final IngestionScheduler ingestionScheduler;
+    private final JobStore jobStore;
+
+    public IngestionController(IngestionScheduler ingestionScheduler, JobStore jobStore) {
+        this.ingestionScheduler = ingestionScheduler;
+        this.jobStore = jobStore;
+    }
+
+    @GetMapping("/ingestion/status")
+    public IngestionReport status() {
+        return new IngestionReport(jobStore.size(), ingestionScheduler.status());
+    }
+
+    public record IngestionReport(int storedPostings, List<ProviderIngestionStatus> providers) {}
+}
@@ -0,0 +1,143 @@
+package com.jobhunter.controller;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.MatchUpdate;
+import com.jobhunter.service.JobService;
+import com.jobhunter.service.MatchingService;
+import com.jobhunter.service.ResumeRejectedException;
+import com.jobhunter.service.ResumeService;
+import org.apache.tika.exception.TikaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming variant of {@code POST /match-jobs} as server-sent events, used by the page when
+ * JavaScript is available:
+ * <ul>
+ *   <li>{@code resume}: {@code {"digest": ...}}, the key the parsed resume is cached under, which
+ *       {@code POST /match-jobs} accepts as {@code resumeDigest} to show further pages;</li>
+ *   <li>{@code profile}: the parsed {@link CandidateProfile}, sent as soon as the resume is
+ *       parsed and before any provider is called;</li>
+ *   <li>{@code matches}: a {@link MatchUpdate} with the current first page, each time a provider
+ *       completes, so the first results arrive at the fastest provider's pace;</li>
+ *   <li>{@code done}: the final {@link MatchUpdate}, after which the stream is closed;</li>
+ *   <li>{@code error}: {@code {"message": ...}} when the resume cannot be parsed, instead of the
+ *       above.</li>
+ * </ul>
+ * Every update re-ranks all distinct postings found so far, since de-duplication can replace a
+ * posting already shown with a merged one.
+ */
+@RestController
+public class MatchStreamController {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchStreamController.class);
+
+    private final ResumeService resumeService;
+    private final JobService jobService;
+    private final MatchingService matchingService;
+    private final int defaultPageSize;
+    private final long streamTimeoutMs;
+
+    public MatchStreamController(ResumeService resumeService, JobService jobService, MatchingService matchingService,
+                                 @Value("${job.matching.page_size:10}") int defaultPageSize,
+                                 @Value("${job.search.deadline_ms:12000}") long searchDeadlineMs) {
+        this.resumeService = resumeService;
+        this.jobService = jobService;
+        this.matchingService = matchingService;
+        this.defaultPageSize = defaultPageSize;
+        // the search ends itself at its deadline; this only bounds a stuck connection
+        this.streamTimeoutMs = searchDeadlineMs + 10_000;
+    }
+
+    @PostMapping(value = "/match-jobs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter matchJobs(@RequestParam(value = "resumeFile", required = false) MultipartFile resumeFile,
+                                @RequestParam(value = "resumeText", required = false) String resumeText,
+                                @RequestParam(value = "pageSize", required = false) Integer pageSize) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        CandidateProfile profile;
+        String digest;
+        try {
+            if (resumeFile != null && !resumeFile.isEmpty()) {
+                profile = resumeService.parse(resumeFile);
+                digest = ResumeService.digest(resumeFile);
+            } else if (resumeText != null && !resumeText.isBlank()) {
+                profile = resumeService.parse(resumeText);
+                digest = ResumeService.digest(resumeText);
+            } else {
+                return failed(emitter, "Please upload a resume file or paste resume text.");
+            }
+        } catch (ResumeRejectedException e) {
+            return failed(emitter, e.getMessage());
+        } catch (IOException | TikaException e) {
+            return failed(emitter, "Error parsing resume file: " + e.getMessage());
+        }
+
+        if (!send(emitter, "resume", Map.of("digest", digest)) || !send(emitter, "profile", profile)) {
+            return emitter;
+        }
+
+        int size = pageSize != null && pageSize > 0 ? pageSize : defaultPageSize;
+        long start = System.nanoTime();
+        AtomicReference<List<JobPosting>> latest = new AtomicReference<>(List.of());
+        Disposable search = jobService.findJobsProgressively(profile)
+                .subscribe(
+                        candidates -> {
+                            latest.set(candidates);
+                            send(emitter, "matches", update(profile, candidates, size, start, false));
+                        },
+                        error -> {
+                            log.error("Streaming search failed", error);
+                            failed(emitter, "An unexpected error occurred: " + error.getMessage());
+                        },
+                        () -> {
+                            if (send(emitter, "done", update(profile, latest.get(), size, start, true))) {
+                                emitter.complete();
+                            }
+                        });
+        emitter.onTimeout(search::dispose);
+        emitter.onError(error -> search.dispose());
+        return emitter;
+    }
+
+    private MatchUpdate update(CandidateProfile profile, List<JobPosting> candidates, int pageSize,
+                               long startNanos, boolean complete) {
+        return new MatchUpdate(matchingService.rank(profile, candidates.iterator(), 1, pageSize),
+                candidates.size(), (System.nanoTime() - startNanos) / 1_000_000, complete);
+    }
+
+    private SseEmitter failed(SseEmitter emitter, String message) {
+        if (send(emitter, "error", Map.of("message", message))) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Sends one event; returns false when the client has gone away or the stream has already
+     * ended. The container then reports the error through {@code onError}, which cancels the
+     * search.
+     */
+    private static boolean send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Could not send {} event: {}", event, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.jobhunter.controller;
+
+import com.jobhunter.service.resilience.CircuitBreakerStatus;
+import com.jobhunter.service.resilience.ProviderResilience;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ProviderHealthController {
+
+    private final ProviderResilience providerResilience;
+
+    public ProviderHealthController(ProviderResilience providerResilience) {
+        this.providerResilience = providerResilience;
+    }
+
+    @GetMapping("/providers/circuit-breakers")
+    public List<CircuitBreakerStatus> circuitBreakers() {
+        return providerResilience.status();
+    }
+}
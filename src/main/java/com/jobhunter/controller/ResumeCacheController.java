@@ -0,0 +1,21 @@
+package com.jobhunter.controller;
+
+import com.jobhunter.service.cache.ResumeCache;
+import com.jobhunter.service.cache.ResumeCacheStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ResumeCacheController {
+
+    private final ResumeCache resumeCache;
+
+    public ResumeCacheController(ResumeCache resumeCache) {
+        this.resumeCache = resumeCache;
+    }
+
+    @GetMapping("/resume-cache/stats")
+    public ResumeCacheStats stats() {
+        return resumeCache.stats();
+    }
+}
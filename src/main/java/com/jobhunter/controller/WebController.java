@@ -1,11 +1,12 @@
 package com.jobhunter.controller;
 
 import com.jobhunter.model.CandidateProfile;
-import com.jobhunter.model.JobPosting;
-import com.jobhunter.model.MatchedJob;
+import com.jobhunter.model.RankedPage;
 import com.jobhunter.service.JobService;
 import com.jobhunter.service.MatchingService;
+import com.jobhunter.service.ResumeRejectedException;
 import com.jobhunter.service.ResumeService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,7 +15,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.List;
 
 @Controller
 public class WebController {
@@ -22,11 +22,14 @@ public class WebController {
     private final ResumeService resumeService;
     private final JobService jobService;
     private final MatchingService matchingService;
+    private final int defaultPageSize;
 
-    public WebController(ResumeService resumeService, JobService jobService, MatchingService matchingService) {
+    public WebController(ResumeService resumeService, JobService jobService, MatchingService matchingService,
+                         @Value("${job.matching.page_size:10}") int defaultPageSize) {
         this.resumeService = resumeService;
         this.jobService = jobService;
         this.matchingService = matchingService;
+        this.defaultPageSize = defaultPageSize;
     }
 
     @GetMapping("/")
@@ -37,25 +40,45 @@ public class WebController {
     @PostMapping("/match-jobs")
     public String matchJobs(@RequestParam(value = "resumeFile", required = false) MultipartFile resumeFile,
                             @RequestParam(value = "resumeText", required = false) String resumeText,
+                            @RequestParam(value = "resumeDigest", required = false) String resumeDigest,
+                            @RequestParam(value = "page", defaultValue = "1") int page,
+                            @RequestParam(value = "pageSize", required = false) Integer pageSize,
                             Model model) {
         try {
             CandidateProfile profile;
+            String digest;
             if (resumeFile != null && !resumeFile.isEmpty()) {
                 profile = resumeService.parse(resumeFile);
+                digest = ResumeService.digest(resumeFile);
             } else if (resumeText != null && !resumeText.isBlank()) {
                 profile = resumeService.parse(resumeText);
+                digest = ResumeService.digest(resumeText);
+            } else if (resumeDigest != null && !resumeDigest.isBlank()) {
+                // paging through earlier results: the resume was parsed and cached on the first page
+                profile = resumeService.cached(resumeDigest);
+                digest = resumeDigest;
+                if (profile == null) {
+                    model.addAttribute("error", "Your resume is no longer cached, please submit it again.");
+                    return "index";
+                }
             } else {
                 model.addAttribute("error", "Please upload a resume file or paste resume text.");
                 return "index";
             }
 
-            // Use the skills from the parsed profile to search for jobs
-            List<JobPosting> jobs = jobService.searchJobs(profile.skills());
-            List<MatchedJob> matchedJobs = matchingService.matchAndRank(profile, jobs);
+            // Use the skills and target titles from the parsed profile to search for jobs,
+            // ranking postings as the providers return them
+            int size = pageSize != null && pageSize > 0 ? pageSize : defaultPageSize;
+            RankedPage rankedPage = matchingService.rank(profile,
+                    jobService.findJobs(profile).toStream().iterator(), Math.max(1, page), size);
 
             model.addAttribute("profile", profile);
-            model.addAttribute("matchedJobs", matchedJobs);
+            model.addAttribute("resumeDigest", digest);
+            model.addAttribute("matchedJobs", rankedPage.matches());
+            model.addAttribute("rankedPage", rankedPage);
 
+        } catch (ResumeRejectedException e) {
+            model.addAttribute("error", e.getMessage());
         } catch (IOException e) {
             model.addAttribute("error", "Error parsing resume file: " + e.getMessage());
         } catch (Exception e) {
@@ -0,0 +1,64 @@
+package com.jobhunter.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs at most one warning per key and window, for failures that repeat on every request while
+ * an upstream is down. Warnings within the window are counted instead of printed, and the count
+ * is reported with the next warning that gets through, e.g.
+ * {@code "remoteok failed: timeout (12 similar warnings suppressed in the last 60s)"}.
+ *
+ * Keys should be drawn from a small set, such as provider names, and name one kind of warning
+ * each ({@code "remoteok.timeout"}, {@code "remoteok.error"}), so that one kind does not hide
+ * another for a whole window.
+ */
+public final class RateLimitedLogger {
+
+    private final Logger log;
+    private final long windowNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger log, Duration window) {
+        this.log = log;
+        this.windowNanos = window.toNanos();
+    }
+
+    public void warn(String key, String format, Object... arguments) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Window window = windows.computeIfAbsent(key, k -> new Window(now - windowNanos));
+        long opened = window.openedNanos.get();
+        if (now - opened < windowNanos || !window.openedNanos.compareAndSet(opened, now)) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+        int suppressed = window.suppressed.getAndSet(0);
+        if (suppressed == 0) {
+            log.warn(format, arguments);
+            return;
+        }
+        Object[] withCount = Arrays.copyOf(arguments, arguments.length + 2);
+        withCount[arguments.length] = suppressed;
+        withCount[arguments.length + 1] = Duration.ofNanos(windowNanos).toSeconds();
+        log.warn(format + " ({} similar warnings suppressed in the last {}s)", withCount);
+    }
+
+    private static final class Window {
+
+        private final AtomicLong openedNanos;
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        Window(long openedNanos) {
+            this.openedNanos = new AtomicLong(openedNanos);
+        }
+    }
+}
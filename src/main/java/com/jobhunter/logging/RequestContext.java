@@ -0,0 +1,87 @@
+package com.jobhunter.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Logging context of the request being served, kept in the SLF4J {@link MDC} and printed with
+ * every log line (see {@code logging.pattern.level}). {@link #REQUEST_ID} is set per HTTP
+ * request by {@link com.jobhunter.config.RequestIdFilter}; {@link #PROVIDER} names the job
+ * provider whose call is running on the current thread.
+ *
+ * The MDC is thread-local, so work handed to another thread has to carry it along: Reactor
+ * schedulers do so through {@link com.jobhunter.config.ReactorMdcConfig}, the application's own
+ * executors by submitting {@link #wrap(Runnable)}ped tasks.
+ */
+public final class RequestContext {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String PROVIDER = "provider";
+
+    private RequestContext() {
+    }
+
+    /**
+     * Returns a task that runs with the caller's MDC and restores the executing thread's own
+     * context afterwards. Returns the task itself when the caller has no context.
+     */
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Runs a provider call with {@link #PROVIDER} set, so the lines it logs name the provider.
+     */
+    public static <T> T withProvider(String provider, Supplier<T> call) {
+        String previous = MDC.get(PROVIDER);
+        MDC.put(PROVIDER, provider);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                MDC.remove(PROVIDER);
+            } else {
+                MDC.put(PROVIDER, previous);
+            }
+        }
+    }
+
+    private static void restore(Map<String, String> previous) {
+        if (previous == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(previous);
+        }
+    }
+}
@@ -1,10 +1,42 @@
 package com.jobhunter.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * A job posting. {@code sources} names the providers it was found on; a posting merged from
+ * duplicates on several providers lists all of them. {@code text} holds the normalized form of
+ * the title and description that matching, indexing and deduplication work on; it is derived
+ * from the other fields and never serialized.
+ */
 public record JobPosting(
     String id,
     String title,
     String company,
     String location,
     String description,
-    String applyUrl
-) {}
+    String applyUrl,
+    List<String> sources,
+    @JsonIgnore PostingText text
+) {
+    public JobPosting {
+        sources = sources == null ? List.of() : List.copyOf(sources);
+        if (text == null || !text.isOf(title, description)) {
+            text = new PostingText(title, description);
+        }
+    }
+
+    public JobPosting(String id, String title, String company, String location, String description, String applyUrl,
+                      List<String> sources) {
+        this(id, title, company, location, description, applyUrl, sources, null);
+    }
+
+    public JobPosting(String id, String title, String company, String location, String description, String applyUrl) {
+        this(id, title, company, location, description, applyUrl, List.of());
+    }
+
+    public JobPosting withSources(List<String> sources) {
+        return new JobPosting(id, title, company, location, description, applyUrl, sources, text);
+    }
+}
@@ -0,0 +1,13 @@
+package com.jobhunter.model;
+
+/**
+ * Ranking streamed by {@code POST /match-jobs/stream} after each provider completes.
+ * {@code candidates} is the number of distinct postings ranked so far; {@code complete} is set
+ * on the final update.
+ */
+public record MatchUpdate(
+    RankedPage ranking,
+    int candidates,
+    long elapsedMs,
+    boolean complete
+) {}
@@ -0,0 +1,99 @@
+package com.jobhunter.model;
+
+import com.jobhunter.text.TextNormalizer;
+import com.jobhunter.text.Tokenizer;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The normalized form of a posting's title and description: folded by
+ * {@link TextNormalizer#fold} and tokenized by {@link Tokenizer}. Each form is computed the
+ * first time it is asked for and then kept, so matching, indexing and deduplication share the
+ * work however many of them look at the posting. The tokens live as long as the posting; stored
+ * postings share theirs through the term dictionary of the index they are restored from (see
+ * {@link #tokenized}).
+ */
+public final class PostingText {
+
+    private final String rawTitle;
+    private final String rawDescription;
+    private volatile String title;
+    private volatile String description;
+    private volatile List<String> titleTokens;
+    private volatile List<String> descriptionTokens;
+
+    PostingText(String rawTitle, String rawDescription) {
+        this.rawTitle = rawTitle;
+        this.rawDescription = rawDescription;
+    }
+
+    /**
+     * The text of a posting whose tokens are already known, e.g. from an index built from an
+     * earlier instance of the same posting.
+     */
+    public static PostingText tokenized(String title, String description, List<String> titleTokens,
+                                        List<String> descriptionTokens) {
+        PostingText text = new PostingText(title, description);
+        text.titleTokens = List.copyOf(titleTokens);
+        text.descriptionTokens = List.copyOf(descriptionTokens);
+        return text;
+    }
+
+    /** Folded title; empty when the posting has none. */
+    public String title() {
+        String folded = title;
+        if (folded == null) {
+            folded = rawTitle == null ? "" : TextNormalizer.fold(rawTitle);
+            title = folded;
+        }
+        return folded;
+    }
+
+    /** Folded description; empty when the posting has none. */
+    public String description() {
+        String folded = description;
+        if (folded == null) {
+            folded = rawDescription == null ? "" : TextNormalizer.fold(rawDescription);
+            description = folded;
+        }
+        return folded;
+    }
+
+    public List<String> titleTokens() {
+        List<String> tokens = titleTokens;
+        if (tokens == null) {
+            tokens = List.copyOf(Tokenizer.tokenize(title()));
+            titleTokens = tokens;
+        }
+        return tokens;
+    }
+
+    public List<String> descriptionTokens() {
+        List<String> tokens = descriptionTokens;
+        if (tokens == null) {
+            tokens = List.copyOf(Tokenizer.tokenize(description()));
+            descriptionTokens = tokens;
+        }
+        return tokens;
+    }
+
+    boolean isOf(String title, String description) {
+        return Objects.equals(rawTitle, title) && Objects.equals(rawDescription, description);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PostingText other && other.isOf(rawTitle, rawDescription);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rawTitle, rawDescription);
+    }
+
+    @Override
+    public String toString() {
+        return "PostingText[" + title() + "]";
+    }
+}
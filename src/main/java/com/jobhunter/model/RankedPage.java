@@ -0,0 +1,16 @@
+package com.jobhunter.model;
+
+import java.util.List;
+
+/**
+ * One page of ranked matches. {@code totalMatches} counts the postings that cleared the score
+ * floor, including those beyond the ranked window, up to {@code job.matching.top_k}: the most
+ * that can be paged through.
+ */
+public record RankedPage(
+    List<MatchedJob> matches,
+    int page,
+    int pageSize,
+    int totalMatches,
+    boolean hasNext
+) {}
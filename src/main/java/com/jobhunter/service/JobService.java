@@ -1,31 +1,228 @@
 package com.jobhunter.service;
 
+import com.jobhunter.logging.RateLimitedLogger;
+import com.jobhunter.model.CandidateProfile;
 import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.cache.JobProviderCache;
+import com.jobhunter.service.dedup.JobDeduplicator;
+import com.jobhunter.service.ingest.JobStore;
+import com.jobhunter.service.metrics.ProviderMetrics;
 import com.jobhunter.service.provider.JobProvider;
+import com.jobhunter.service.provider.NormalizingJobProvider;
+import com.jobhunter.service.provider.ReactiveJobProvider;
+import com.jobhunter.service.resilience.ProviderResilience;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
-public class   JobService {
+public class JobService {
 
-    private final List<JobProvider> jobProviders;
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    private final List<ReactiveJobProvider> jobProviders;
+    private final JobStore jobStore;
+    private final JobDeduplicator deduplicator;
+    private final MeterRegistry meterRegistry;
+    private final int maxCandidates;
+    private final Duration providerTimeout;
+    private final Duration searchDeadline;
+    private final RateLimitedLogger warnings = new RateLimitedLogger(log, Duration.ofMinutes(1));
 
     // Spring will automatically inject all beans that implement the JobProvider interface
-    public JobService(List<JobProvider> jobProviders) {
-        this.jobProviders = jobProviders;
-        System.out.println("INFO: Loaded " + jobProviders.size() + " job provider(s).");
+    public JobService(List<JobProvider> jobProviders,
+                      ProviderMetrics providerMetrics,
+                      ProviderResilience providerResilience,
+                      JobProviderCache providerCache,
+                      JobStore jobStore,
+                      JobDeduplicator deduplicator,
+                      MeterRegistry meterRegistry,
+                      @Value("${job.search.provider_timeout_ms:8000}") long providerTimeoutMs,
+                      @Value("${job.search.deadline_ms:12000}") long searchDeadlineMs,
+                      @Value("${job.search.max_candidates:2000}") int maxCandidates) {
+        // the cache sits in front of the breaker, so an open circuit is answered from the cache
+        this.jobProviders = jobProviders.stream()
+                .map(providerMetrics::wrap)
+                .map(NormalizingJobProvider::wrap)
+                .map(providerResilience::wrap)
+                .map(providerCache::wrap)
+                .map(ReactiveJobProvider::adapt)
+                .collect(Collectors.toList());
+        this.jobStore = jobStore;
+        this.deduplicator = deduplicator;
+        this.meterRegistry = meterRegistry;
+        this.maxCandidates = maxCandidates;
+        this.providerTimeout = Duration.ofMillis(providerTimeoutMs);
+        this.searchDeadline = Duration.ofMillis(searchDeadlineMs);
+        log.info("Loaded {} job provider(s).", jobProviders.size());
+    }
+
+    /**
+     * Returns the candidate postings for a profile. Once ingestion has filled the local store this
+     * is answered from its index without any outbound call: the postings sharing the most skills
+     * or target titles with the profile, at most {@code job.search.max_candidates} of them. Until
+     * then (or with ingestion disabled) it falls back to the live provider fan-out. Either way the
+     * same job found on several providers is returned once, listing all of them as sources.
+     */
+    public List<JobPosting> searchJobs(CandidateProfile profile) {
+        if (jobStore.isEmpty()) {
+            return searchLive(profile.skills());
+        }
+        List<JobPosting> jobs = findJobs(profile).collectList().block();
+        return jobs != null ? jobs : List.of();
+    }
+
+    /**
+     * Same candidates as {@link #searchJobs(CandidateProfile)}, as a Flux. Live results are
+     * emitted as the providers return them, so a caller can rank them while slower providers are
+     * still answering. They are de-duplicated on the way through ({@link JobDeduplicator.Session}):
+     * a posting duplicating one already emitted is dropped rather than merged into it, so unlike
+     * {@link #searchJobs(CandidateProfile)} only the provider that answered first is listed as its
+     * source.
+     */
+    public Flux<JobPosting> findJobs(CandidateProfile profile) {
+        if (!jobStore.isEmpty()) {
+            List<String> terms = new ArrayList<>(profile.skills());
+            terms.addAll(profile.targetTitles());
+            return Flux.defer(() -> Flux.fromIterable(dedupe(jobStore.candidates(terms, maxCandidates), "store")));
+        }
+        return Flux.defer(() -> {
+            JobDeduplicator.Session session = deduplicator.session();
+            AtomicInteger found = new AtomicInteger();
+            AtomicInteger distinct = new AtomicInteger();
+            return streamJobs(profile.skills())
+                    .doOnNext(job -> found.incrementAndGet())
+                    .filter(session::offer)
+                    .doOnNext(job -> distinct.incrementAndGet())
+                    .doOnComplete(() -> recordCandidates("live", found.get(), distinct.get()));
+        });
+    }
+
+    /**
+     * Same candidates as {@link #findJobs(CandidateProfile)}, but live searches report progress:
+     * every time a provider completes, the distinct postings found so far are emitted, so a
+     * caller can show results at the fastest provider's pace and refine them as the slower ones
+     * answer. The last emission is the full candidate list. A search answered from the local
+     * store emits once.
+     */
+    public Flux<List<JobPosting>> findJobsProgressively(CandidateProfile profile) {
+        if (!jobStore.isEmpty()) {
+            return findJobs(profile).collectList().flux();
+        }
+        String[] keywords = profile.skills().toArray(new String[0]);
+        return Flux.defer(() -> {
+            List<JobPosting> found = new ArrayList<>();
+            AtomicReference<List<JobPosting>> distinct = new AtomicReference<>(List.of());
+            List<Mono<List<JobPosting>>> perProvider = jobProviders.stream()
+                    .map(provider -> fetchWithTimeout(provider, keywords).collectList())
+                    .collect(Collectors.toList());
+            return withDeadline(Flux.merge(perProvider))
+                    .filter(jobs -> !jobs.isEmpty())
+                    .map(jobs -> {
+                        found.addAll(jobs);
+                        distinct.set(deduplicator.dedupe(List.copyOf(found)));
+                        return distinct.get();
+                    })
+                    .doOnComplete(() -> recordCandidates("live", found.size(), distinct.get().size()));
+        });
     }
 
     public List<JobPosting> searchJobs(List<String> skills) {
+        if (!jobStore.isEmpty()) {
+            return dedupe(jobStore.candidates(skills, maxCandidates), "store");
+        }
+        return searchLive(skills);
+    }
+
+    /**
+     * The postings a whole batch of profiles is scored against, fetched once: everything in the
+     * local store, or a single live fan-out over the union of the profiles' skills while the
+     * store is still empty.
+     */
+    public List<JobPosting> corpus(Collection<String> skills) {
+        if (!jobStore.isEmpty()) {
+            return dedupe(jobStore.all(), "store");
+        }
+        return searchLive(new ArrayList<>(skills));
+    }
+
+    private List<JobPosting> searchLive(List<String> skills) {
+        List<JobPosting> jobs = streamJobs(skills).collectList().block();
+        return jobs != null ? dedupe(jobs, "live") : List.of();
+    }
+
+    /**
+     * De-duplicates a candidate list, recording its size before and after as
+     * {@code jobhunter.search.candidates} ({@code stage=found} / {@code stage=distinct}).
+     */
+    private List<JobPosting> dedupe(List<JobPosting> jobs, String source) {
+        List<JobPosting> distinct = deduplicator.dedupe(jobs);
+        recordCandidates(source, jobs.size(), distinct.size());
+        return distinct;
+    }
+
+    private void recordCandidates(String source, int found, int distinct) {
+        candidates(source, "found").record(found);
+        candidates(source, "distinct").record(distinct);
+    }
+
+    private DistributionSummary candidates(String source, String stage) {
+        return DistributionSummary.builder("jobhunter.search.candidates")
+                .description("Candidate postings per search, before and after de-duplication")
+                .tag("source", source)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fans out to every provider at once and merges postings in the order they arrive.
+     *
+     * Each provider is cut off after the per-provider timeout and the whole search after the
+     * global deadline; whatever was received up to that point is still emitted, so one hung
+     * upstream never holds back the others. Provider failures are logged and dropped. Postings
+     * are tagged with the provider they came from but not de-duplicated.
+     */
+    public Flux<JobPosting> streamJobs(List<String> skills) {
         String[] keywords = skills.toArray(new String[0]);
-        
-        // Fetch jobs from all providers in parallel and collect them into one list
-        return jobProviders.parallelStream()
-                .map(provider -> provider.getJobs(keywords))
-                .flatMap(Collection::stream)
+
+        List<Flux<JobPosting>> perProvider = jobProviders.stream()
+                .map(provider -> fetchWithTimeout(provider, keywords))
                 .collect(Collectors.toList());
+
+        return withDeadline(Flux.merge(perProvider));
+    }
+
+    private <T> Flux<T> withDeadline(Flux<T> search) {
+        return search.takeUntilOther(Mono.delay(searchDeadline)
+                .doOnNext(tick -> warnings.warn("deadline",
+                        "Job search deadline of {}ms reached, returning partial results.",
+                        searchDeadline.toMillis())));
+    }
+
+    private Flux<JobPosting> fetchWithTimeout(ReactiveJobProvider provider, String[] keywords) {
+        List<String> source = List.of(provider.name());
+        return Flux.defer(() -> provider.streamJobs(keywords))
+                .map(job -> job.sources().isEmpty() ? job.withSources(source) : job)
+                .takeUntilOther(Mono.delay(providerTimeout)
+                        .doOnNext(tick -> warnings.warn(provider.name() + ".timeout",
+                                "{} did not finish within {}ms, keeping partial results.",
+                                provider.name(), providerTimeout.toMillis())))
+                .onErrorResume(e -> {
+                    warnings.warn(provider.name() + ".error", "{} failed: {}", provider.name(), e.getMessage());
+                    return Flux.empty();
+                });
     }
 }
@@ -3,55 +3,170 @@ package com.jobhunter.service;
 import com.jobhunter.model.CandidateProfile;
 import com.jobhunter.model.JobPosting;
 import com.jobhunter.model.MatchedJob;
+import com.jobhunter.model.RankedPage;
+import com.jobhunter.service.scoring.ScoringStrategy;
+import com.jobhunter.service.scoring.ScoringStrategy.ProfileScorer;
+import com.jobhunter.service.scoring.ScoringStrategy.Score;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Service
 public class MatchingService {
 
-    private static final double SKILL_WEIGHT = 0.7;
-    private static final double TITLE_WEIGHT = 0.3;
+    private final ScoringStrategy scoring;
+    private final int topK;
+    private final double minScore;
+    private final Timer rankTimer;
+    private final DistributionSummary candidates;
 
-    public List<MatchedJob> matchAndRank(CandidateProfile profile, List<JobPosting> jobs) {
-        List<MatchedJob> matchedJobs = new ArrayList<>();
-
-        for (JobPosting job : jobs) {
-            double skillScore = calculateSkillScore(profile, job);
-            double titleScore = calculateTitleScore(profile, job);
+    public MatchingService(MeterRegistry meterRegistry,
+                           ScoringStrategy scoring,
+                           @Value("${job.matching.top_k:50}") int topK,
+                           @Value("${job.matching.min_score:0.1}") double minScore) {
+        this.scoring = scoring;
+        this.topK = topK;
+        this.minScore = minScore;
+        this.rankTimer = Timer.builder("jobhunter.matching.rank")
+                .description("Time to score and rank the candidate postings of one profile")
+                .register(meterRegistry);
+        this.candidates = DistributionSummary.builder("jobhunter.matching.candidates")
+                .description("Postings scored per ranking")
+                .register(meterRegistry);
+    }
 
-            double totalScore = (skillScore * SKILL_WEIGHT) + (titleScore * TITLE_WEIGHT);
+    /**
+     * The best {@code job.matching.top_k} matches above the configured score floor, best first.
+     */
+    public List<MatchedJob> matchAndRank(CandidateProfile profile, List<JobPosting> jobs) {
+        return matchAndRank(profile, jobs.stream(), topK);
+    }
 
-            if (totalScore > 0.1) {
-                String reason = generateReason(skillScore, titleScore);
-                matchedJobs.add(new MatchedJob(job, totalScore, reason));
-            }
-        }
+    public List<MatchedJob> matchAndRank(CandidateProfile profile, Stream<JobPosting> jobs, int k) {
+        long start = System.nanoTime();
+        Ranker ranker = newRanker(profile, k, minScore);
+        jobs.forEachOrdered(ranker::accept);
+        List<MatchedJob> ranked = ranker.ranked();
+        record(ranker, start);
+        return ranked;
+    }
 
-        Collections.sort(matchedJobs);
-        return matchedJobs;
+    /**
+     * Ranks postings as the iterator yields them (e.g. while providers are still answering) and
+     * returns the requested page. Pages are 1-based; only {@code page * pageSize} matches are
+     * ever held, capped at {@code job.matching.top_k}. The recorded ranking time includes
+     * waiting on the iterator.
+     */
+    public RankedPage rank(CandidateProfile profile, Iterator<JobPosting> jobs, int page, int pageSize) {
+        long start = System.nanoTime();
+        int window = (int) Math.min(topK, (long) page * pageSize);
+        Ranker ranker = newRanker(profile, window, minScore);
+        jobs.forEachRemaining(ranker::accept);
+        RankedPage ranked = ranker.page(page, pageSize, topK);
+        record(ranker, start);
+        return ranked;
     }
 
-    private double calculateSkillScore(CandidateProfile profile, JobPosting job) {
-        if (profile.skills().isEmpty() || job.description() == null) return 0;
-        long matchCount = profile.skills().stream()
-                .filter(skill -> job.description().toLowerCase().contains(skill.toLowerCase()))
-                .count();
-        return (double) matchCount / profile.skills().size();
+    public Ranker newRanker(CandidateProfile profile, int k, double scoreFloor) {
+        return new Ranker(scoring.compile(profile), k, scoreFloor);
     }
 
-    private double calculateTitleScore(CandidateProfile profile, JobPosting job) {
-        if (job.title() == null) return 0.0;
-        return profile.targetTitles().stream()
-                .anyMatch(title -> job.title().toLowerCase().contains(title.toLowerCase())) ? 1.0 : 0.0;
+    private void record(Ranker ranker, long startNanos) {
+        rankTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        candidates.record(ranker.offered);
     }
 
-    private String generateReason(double skillScore, double titleScore) {
+    private static String generateReason(double skillScore, double titleScore) {
         List<String> reasons = new ArrayList<>();
         if (skillScore > 0.5) reasons.add(String.format("Strong skill match (%.0f%%)", skillScore * 100));
         if (titleScore > 0) reasons.add("Relevant title");
         return "Reason: " + String.join(", ", reasons);
     }
+
+    /**
+     * Incremental top-K ranking: postings are scored as they are offered and only the best
+     * {@code k} above the score floor are kept, in a min-heap. Among equal scores the earlier
+     * posting wins, matching a stable sort of the full list. Not thread-safe.
+     */
+    public static final class Ranker {
+
+        private static final Comparator<Entry> WORST_FIRST = Comparator
+                .comparingDouble(Entry::score)
+                .thenComparing(Comparator.comparingLong(Entry::sequence).reversed());
+
+        private final ProfileScorer scorer;
+        private final int k;
+        private final double scoreFloor;
+        private final PriorityQueue<Entry> heap;
+        private long offered;
+        private int aboveFloor;
+
+        private Ranker(ProfileScorer scorer, int k, double scoreFloor) {
+            this.scorer = scorer;
+            this.k = k;
+            this.scoreFloor = scoreFloor;
+            this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)) + 1, WORST_FIRST);
+        }
+
+        public void accept(JobPosting job) {
+            long sequence = offered++;
+            if (k <= 0) {
+                return;
+            }
+            Score score = scorer.score(job);
+            if (score.total() <= scoreFloor) {
+                return;
+            }
+            aboveFloor++;
+            // the reason text is only built in ranked(), for postings that made the cut
+            Entry entry = new Entry(job, score.total(), score.skill(), score.title(), sequence);
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (WORST_FIRST.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        /**
+         * Current best matches, best first. Can be called between offers to show intermediate
+         * rankings.
+         */
+        public List<MatchedJob> ranked() {
+            Entry[] entries = heap.toArray(new Entry[0]);
+            Arrays.sort(entries, WORST_FIRST.reversed());
+            List<MatchedJob> ranked = new ArrayList<>(entries.length);
+            for (Entry entry : entries) {
+                ranked.add(new MatchedJob(entry.job(), entry.score(),
+                        generateReason(entry.skillScore(), entry.titleScore())));
+            }
+            return ranked;
+        }
+
+        /**
+         * One page of the current ranking. Matches beyond the best {@code limit} can never be
+         * paged to, so they count neither towards the total nor as a next page.
+         */
+        public RankedPage page(int page, int pageSize, int limit) {
+            List<MatchedJob> ranked = ranked();
+            int from = (int) Math.min(ranked.size(), Math.max(0, (long) (page - 1) * pageSize));
+            int to = Math.min(ranked.size(), from + pageSize);
+            int reachable = Math.min(aboveFloor, limit);
+            boolean hasNext = reachable > (long) page * pageSize;
+            return new RankedPage(List.copyOf(ranked.subList(from, to)), page, pageSize, reachable, hasNext);
+        }
+
+        private record Entry(JobPosting job, double score, double skillScore, double titleScore, long sequence) {}
+    }
 }
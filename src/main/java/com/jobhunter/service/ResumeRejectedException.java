@@ -0,0 +1,16 @@
+package com.jobhunter.service;
+
+import java.io.IOException;
+
+/**
+ * A resume document that was not parsed: its format is not supported, extraction took too
+ * long, or the extraction pool was saturated. The message is meant for the user.
+ */
+public class ResumeRejectedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResumeRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,71 +1,379 @@
 package com.jobhunter.service;
 
+import com.jobhunter.logging.RequestContext;
 import com.jobhunter.model.CandidateProfile;
-import org.apache.tika.Tika;
+import com.jobhunter.service.cache.ResumeCache;
+import com.jobhunter.text.PhraseMatcher;
+import com.jobhunter.text.SkillTaxonomy;
+import com.jobhunter.text.Tokenizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.microsoft.ooxml.OOXMLParser;
+import org.apache.tika.parser.pdf.PDFParser;
+import org.apache.tika.parser.txt.TXTParser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.SAXException;
 
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * Turns resumes into candidate profiles.
+ *
+ * Documents are extracted on a dedicated pool of {@code job.resume.extract_threads} threads with
+ * room for {@code job.resume.queue_capacity} waiting documents, never on the request thread.
+ * Only PDF, DOCX and plain text are recognised, extraction stops after
+ * {@code job.resume.max_chars} characters, and a document still being extracted after
+ * {@code job.resume.timeout_ms} is abandoned. Documents that hit any of these limits, or arrive
+ * while the pool is full, are refused with a {@link ResumeRejectedException}. Documents of batch
+ * uploads ({@link #submit}) are extracted on a pool of their own, {@code job.batch.extract_threads}
+ * threads with room for {@code job.batch.queue_capacity} waiting documents, so that a large batch
+ * neither takes the room interactive uploads are refused without nor keeps them waiting behind
+ * it.
+ *
+ * Skills come from the shared {@link SkillTaxonomy} (canonical names with aliases). The text is
+ * tokenized once; the taxonomy finds every skill form as whole words, in time independent of
+ * its size, and a small {@link PhraseMatcher} finds the title cues. Only skills the resume
+ * mentions are reported, not the broader skills they imply.
+ *
+ * Parsed profiles are cached by content digest in {@link ResumeCache}, so re-submitting the same
+ * file or text returns at once without touching the pool.
+ *
+ * Every parse that misses the cache is timed as {@code jobhunter.resume.parse}, tagged with the
+ * detected content type ({@code pdf}, {@code docx}, {@code text}, {@code pasted} for text sent
+ * in the form, {@code unsupported}) and the outcome.
+ */
 @Service
 public class ResumeService {
 
-    private final Tika tika = new Tika();
+    private static final Logger log = LoggerFactory.getLogger(ResumeService.class);
 
-    private static final Set<String> SKILL_KEYWORDS = Set.of(
-            "java", "spring", "spring boot", "sql", "postgresql", "mysql", "docker", "aws", "kubernetes", "python",
-            "javascript", "react", "go", "microservices", "rest", "api", "git", "maven", "gradle", "jenkins", "kafka"
+    /**
+     * Version of the extraction rules below. Bump it whenever they change what a resume parses
+     * to, so that profiles persisted by {@link ResumeCache} under the old rules are discarded.
+     */
+    public static final int EXTRACTOR_VERSION = 3;
+
+    private static final Set<MediaType> SUPPORTED_TYPES = Set.of(
+            MediaType.application("pdf"),
+            MediaType.application("vnd.openxmlformats-officedocument.wordprocessingml.document"),
+            MediaType.TEXT_PLAIN
     );
 
+    private static final Pattern NAME = Pattern.compile("^([A-Z][a-z]+(?:\s[A-Z][a-z]+)+)", Pattern.MULTILINE);
+    private static final Pattern YEARS = Pattern.compile("(\\d+)\\s*\\+?\\s*years", Pattern.CASE_INSENSITIVE);
+    private static final List<String> BACKEND_CUES = List.of("backend", "back-end", "java developer");
+
+    // Restricted to the formats we accept, instead of Tika's full auto-detect parser set
+    private final AutoDetectParser parser = new AutoDetectParser(new PDFParser(), new OOXMLParser(), new TXTParser());
+
+    private final ResumeCache cache;
+    private final MeterRegistry meterRegistry;
+    private final Counter timeouts;
+    private final SkillTaxonomy skills;
+    private final PhraseMatcher backendCues;
+    private final ExtractionPool interactive;
+    private final ExtractionPool batch;
+    private final ScheduledExecutorService watchdog;
+    private final long timeoutMs;
+    private final int maxChars;
+
+    public ResumeService(ResumeCache cache,
+                         MeterRegistry meterRegistry,
+                         SkillTaxonomy skills,
+                         @Value("${job.resume.extract_threads:2}") int extractThreads,
+                         @Value("${job.resume.queue_capacity:16}") int queueCapacity,
+                         @Value("${job.resume.timeout_ms:15000}") long timeoutMs,
+                         @Value("${job.resume.max_chars:100000}") int maxChars,
+                         @Value("${job.batch.extract_threads:2}") int batchExtractThreads,
+                         @Value("${job.batch.queue_capacity:16}") int batchQueueCapacity) {
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.timeouts = Counter.builder("jobhunter.resume.timeouts")
+                .description("Documents abandoned after job.resume.timeout_ms")
+                .register(meterRegistry);
+        this.skills = skills;
+        this.backendCues = PhraseMatcher.compile(BACKEND_CUES);
+        this.interactive = new ExtractionPool("resume-extract-", extractThreads, queueCapacity);
+        this.batch = new ExtractionPool("batch-extract-", batchExtractThreads, batchQueueCapacity);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resume-extract-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeoutMs = timeoutMs;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * The key the profile parsed from this file is cached under; see {@link #cached}.
+     */
+    public static String digest(MultipartFile resumeFile) throws IOException {
+        return ResumeCache.digest(resumeFile.getBytes());
+    }
+
+    public static String digest(String resumeText) {
+        return ResumeCache.digest(resumeText);
+    }
+
+    /**
+     * The profile parsed earlier from the resume with this digest, or null when it is no longer
+     * cached. Lets a client page through its matches without sending the resume again.
+     */
+    public CandidateProfile cached(String digest) {
+        return cache.get(digest);
+    }
+
     public CandidateProfile parse(MultipartFile resumeFile) throws IOException, TikaException {
-        String text = tika.parseToString(resumeFile.getInputStream());
-        return parseText(text);
+        return parse(resumeFile.getBytes(), resumeFile.getOriginalFilename());
+    }
+
+    /**
+     * Parses one document, refusing it straight away if it is not cached and the extraction
+     * pool is full.
+     */
+    public CandidateProfile parse(byte[] content, String fileName) throws IOException, TikaException {
+        String digest = ResumeCache.digest(content);
+        CandidateProfile cached = cache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        if (!interactive.capacity.tryAcquire()) {
+            throw new ResumeRejectedException("Too many resumes are being processed right now, please try again shortly.");
+        }
+        return await(execute(interactive, content, digest, fileName), fileName);
     }
 
     public CandidateProfile parse(String resumeText) {
-        return parseText(resumeText);
+        String digest = ResumeCache.digest(resumeText);
+        CandidateProfile cached = cache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        CandidateProfile profile = parseText(resumeText.length() > maxChars ? resumeText.substring(0, maxChars) : resumeText);
+        recordParse("pasted", "success", start);
+        cache.put(digest, profile);
+        return profile;
+    }
+
+    /**
+     * Queues a document for extraction on the batch pool, waiting for room in it rather than
+     * refusing it. Meant for bulk callers that should be slowed down, not rejected; resolve the
+     * result with {@link #await}.
+     */
+    public Future<CandidateProfile> submit(byte[] content, String fileName) throws InterruptedException {
+        String digest = ResumeCache.digest(content);
+        CandidateProfile cached = cache.get(digest);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        batch.capacity.acquire();
+        return execute(batch, content, digest, fileName);
+    }
+
+    /**
+     * Waits for a submitted document, translating cancellation by the timeout watchdog into a
+     * {@link ResumeRejectedException}.
+     */
+    public CandidateProfile await(Future<CandidateProfile> result, String fileName) throws IOException, TikaException {
+        try {
+            return result.get();
+        } catch (CancellationException e) {
+            throw new ResumeRejectedException("Extracting " + describe(fileName) + " took longer than "
+                    + timeoutMs + "ms.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResumeRejectedException("Interrupted while parsing " + describe(fileName) + ".");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof TikaException tika) throw tika;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new TikaException("Failed to parse " + describe(fileName), cause);
+        }
+    }
+
+    /**
+     * Runs the extraction on the pool, whose permit the caller holds and which is released once
+     * the document is done.
+     */
+    private Future<CandidateProfile> execute(ExtractionPool pool, byte[] content, String digest, String fileName) {
+        FutureTask<CandidateProfile> task = new FutureTask<>(() -> {
+            long start = System.nanoTime();
+            String[] contentType = {"unknown"};
+            String outcome = "error";
+            try {
+                CandidateProfile profile = parseText(extract(content, fileName, contentType));
+                outcome = "success";
+                cache.put(digest, profile);
+                return profile;
+            } catch (ResumeRejectedException e) {
+                outcome = "rejected";
+                throw e;
+            } finally {
+                recordParse(contentType[0], outcome, start);
+            }
+        });
+        try {
+            pool.executor.execute(RequestContext.wrap(() -> {
+                ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+                    if (task.cancel(true)) {
+                        timeouts.increment();
+                    }
+                }, timeoutMs, TimeUnit.MILLISECONDS);
+                try {
+                    task.run();
+                } finally {
+                    deadline.cancel(false);
+                    pool.capacity.release();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            // only after shutdown, the semaphore keeps the queue from overflowing
+            pool.capacity.release();
+            task.cancel(false);
+        }
+        return task;
+    }
+
+    private void recordParse(String contentType, String outcome, long startNanos) {
+        Timer.builder("jobhunter.resume.parse")
+                .description("Resume extraction and skill detection, cache misses only")
+                .tag("content_type", contentType)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param contentType receives the short name of the detected type, for the parse timer
+     */
+    private String extract(byte[] content, String fileName, String[] contentType) throws IOException, TikaException {
+        Metadata metadata = new Metadata();
+        if (fileName != null) {
+            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, fileName);
+        }
+        try (TikaInputStream stream = TikaInputStream.get(content)) {
+            MediaType type = parser.getDetector().detect(stream, metadata);
+            contentType[0] = shortName(type.getBaseType());
+            if (!SUPPORTED_TYPES.contains(type.getBaseType())) {
+                throw new ResumeRejectedException("Unsupported resume format " + type.getBaseType()
+                        + " (" + describe(fileName) + "); please upload a PDF, DOCX or plain text file.");
+            }
+            BodyContentHandler handler = new BodyContentHandler(maxChars);
+            try {
+                parser.parse(stream, handler, metadata, new ParseContext());
+            } catch (SAXException e) {
+                if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                    throw new TikaException("Failed to parse " + describe(fileName), e);
+                }
+                // keep the first max_chars characters, that is plenty for a resume
+            }
+            return handler.toString();
+        }
+    }
+
+    private static String shortName(MediaType type) {
+        if (!SUPPORTED_TYPES.contains(type)) {
+            return "unsupported";
+        }
+        if (type.equals(MediaType.TEXT_PLAIN)) {
+            return "text";
+        }
+        return type.getSubtype().equals("pdf") ? "pdf" : "docx";
+    }
+
+    private static String describe(String fileName) {
+        return fileName != null ? fileName : "resume";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        interactive.executor.shutdownNow();
+        batch.executor.shutdownNow();
+        watchdog.shutdownNow();
     }
 
     private CandidateProfile parseText(String text) {
+        // one tokenization serves both the skill and the title cue pass
+        List<String> tokens = Tokenizer.tokenize(text);
         return new CandidateProfile(
                 extractName(text),
                 extractYearsOfExperience(text),
-                extractSkills(text),
-                extractTargetTitles(text)
+                skills.mentioned(tokens),
+                extractTargetTitles(tokens)
         );
     }
 
     private String extractName(String text) {
-        Pattern p = Pattern.compile("^([A-Z][a-z]+(?:\s[A-Z][a-z]+)+)", Pattern.MULTILINE);
-        Matcher m = p.matcher(text);
+        Matcher m = NAME.matcher(text);
         return m.find() ? m.group(1).trim() : "Resume User";
     }
 
     private int extractYearsOfExperience(String text) {
-        Pattern p = Pattern.compile("(\\d+)\\s*\\+?\\s*years", Pattern.CASE_INSENSITIVE);
-        Matcher m = p.matcher(text);
+        Matcher m = YEARS.matcher(text);
         return m.find() ? Integer.parseInt(m.group(1)) : 3; // Default
     }
 
-    private List<String> extractSkills(String text) {
-        String lowerCaseText = text.toLowerCase();
-        return SKILL_KEYWORDS.stream()
-                .filter(lowerCaseText::contains)
-                .collect(Collectors.toList());
-    }
-
-    private List<String> extractTargetTitles(String text) {
-        String lowerCaseText = text.toLowerCase();
-        if (lowerCaseText.contains("backend") || lowerCaseText.contains("java developer")) {
+    private List<String> extractTargetTitles(List<String> tokens) {
+        if (backendCues.findAll(tokens, new boolean[backendCues.phraseCount()]) > 0) {
             return Arrays.asList("Backend Engineer", "Software Engineer", "Java Developer");
         }
         return List.of("Software Engineer");
     }
+
+    /**
+     * Extraction threads with a bounded queue, and one permit per running or queued document so
+     * that the executor itself never has to reject.
+     */
+    private static final class ExtractionPool {
+
+        final ThreadPoolExecutor executor;
+        final Semaphore capacity;
+
+        ExtractionPool(String threadPrefix, int threads, int queueCapacity) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                        Thread thread = new Thread(runnable, threadPrefix + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.capacity = new Semaphore(threads + queueCapacity);
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.jobhunter.service.batch;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.MatchedJob;
+
+import java.util.List;
+
+/**
+ * Result of one batch: the ranked matches of every resume plus the batch's timings.
+ * {@code resumesPerSecond} covers the whole batch, parsing through scoring.
+ */
+public record BatchMatchReport(
+    int resumes,
+    int failed,
+    int corpusSize,
+    long parseMillis,
+    long fetchMillis,
+    long matchMillis,
+    double resumesPerSecond,
+    List<CandidateMatches> candidates
+) {
+
+    /**
+     * One resume's ranked matches. {@code source} is the upload name, with {@code !entry}
+     * appended for resumes taken from a zip. When parsing failed, {@code profile} is null and
+     * {@code error} says why.
+     */
+    public record CandidateMatches(String source, CandidateProfile profile, List<MatchedJob> matches, String error) {}
+}
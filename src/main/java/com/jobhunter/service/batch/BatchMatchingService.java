@@ -0,0 +1,260 @@
+package com.jobhunter.service.batch;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.MatchedJob;
+import com.jobhunter.service.JobService;
+import com.jobhunter.service.MatchingService;
+import com.jobhunter.service.ResumeRejectedException;
+import com.jobhunter.service.ResumeService;
+import com.jobhunter.service.batch.BatchMatchReport.CandidateMatches;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Matches a whole cohort of resumes in one go.
+ *
+ * Resumes are parsed in parallel on the batch extraction pool of {@link ResumeService}, apart
+ * from the pool interactive uploads use. The request thread unpacking the upload blocks whenever
+ * that pool is full, so only as many resumes as it can queue are ever held in memory and large
+ * zips are streamed. The job corpus is then
+ * fetched once for the batch (see {@link JobService#corpus}) and every resume is ranked against
+ * it on a dedicated fork-join pool, one task per resume.
+ */
+@Service
+public class BatchMatchingService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchMatchingService.class);
+
+    private final ResumeService resumeService;
+    private final JobService jobService;
+    private final MatchingService matchingService;
+    private final ForkJoinPool pool;
+    private final int maxResumes;
+    private final int maxResumeBytes;
+    private final int defaultTopK;
+
+    private long batches;
+    private long resumes;
+    private long failedResumes;
+    private long busyNanos;
+    private double lastBatchResumesPerSecond;
+
+    public BatchMatchingService(ResumeService resumeService,
+                                JobService jobService,
+                                MatchingService matchingService,
+                                @Value("${job.batch.parallelism:0}") int parallelism,
+                                @Value("${job.batch.max_resumes:1000}") int maxResumes,
+                                @Value("${job.batch.max_resume_bytes:5242880}") int maxResumeBytes,
+                                @Value("${job.batch.top_k:10}") int defaultTopK) {
+        this.resumeService = resumeService;
+        this.jobService = jobService;
+        this.matchingService = matchingService;
+        this.maxResumes = maxResumes;
+        this.maxResumeBytes = maxResumeBytes;
+        this.defaultTopK = defaultTopK;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("batch-match-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Parses and ranks every uploaded resume. Uploads ending in {@code .zip} are unpacked and
+     * each file inside is treated as one resume. A resume that cannot be parsed is reported with
+     * its error and does not fail the batch.
+     *
+     * @throws BatchTooLargeException if the batch holds more than {@code job.batch.max_resumes}
+     */
+    public BatchMatchReport match(List<MultipartFile> uploads, int topK) throws IOException, InterruptedException {
+        int k = topK > 0 ? topK : defaultTopK;
+        long started = System.nanoTime();
+
+        List<PendingResume> pending = new ArrayList<>();
+        try {
+            for (MultipartFile upload : uploads) {
+                String uploadName = upload.getOriginalFilename() != null ? upload.getOriginalFilename() : upload.getName();
+                if (uploadName.toLowerCase(Locale.ROOT).endsWith(".zip")) {
+                    submitZip(uploadName, upload, pending);
+                } else {
+                    checkBatchSize(pending.size());
+                    pending.add(new PendingResume(uploadName, resumeService.submit(upload.getBytes(), uploadName)));
+                }
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            pending.forEach(resume -> resume.result().cancel(true));
+            throw e;
+        }
+
+        List<ParsedResume> parsed = new ArrayList<>(pending.size());
+        for (PendingResume resume : pending) {
+            parsed.add(resume.await());
+        }
+        long parsedAt = System.nanoTime();
+
+        Set<String> skills = new LinkedHashSet<>();
+        for (ParsedResume resume : parsed) {
+            if (resume.profile() != null) {
+                skills.addAll(resume.profile().skills());
+            }
+        }
+        List<JobPosting> corpus = skills.isEmpty() ? List.of() : jobService.corpus(skills);
+        long fetchedAt = System.nanoTime();
+
+        List<CandidateMatches> candidates = join(pool.submit(() -> parsed.parallelStream()
+                .map(resume -> rank(resume, corpus, k))
+                .collect(Collectors.toList())));
+        long finished = System.nanoTime();
+
+        int failed = (int) parsed.stream().filter(resume -> resume.profile() == null).count();
+        double resumesPerSecond = perSecond(parsed.size(), finished - started);
+        record(parsed.size(), failed, finished - started, resumesPerSecond);
+        if (log.isInfoEnabled()) {
+            log.info("Batch of {} resume(s) matched against {} posting(s) in {}ms ({} resumes/s, {} failed).",
+                    parsed.size(), corpus.size(), TimeUnit.NANOSECONDS.toMillis(finished - started),
+                    String.format(Locale.ROOT, "%.1f", resumesPerSecond), failed);
+        }
+
+        return new BatchMatchReport(parsed.size(), failed, corpus.size(),
+                TimeUnit.NANOSECONDS.toMillis(parsedAt - started),
+                TimeUnit.NANOSECONDS.toMillis(fetchedAt - parsedAt),
+                TimeUnit.NANOSECONDS.toMillis(finished - fetchedAt),
+                resumesPerSecond, candidates);
+    }
+
+    public synchronized BatchThroughput throughput() {
+        return new BatchThroughput(batches, resumes, failedResumes, TimeUnit.NANOSECONDS.toMillis(busyNanos),
+                perSecond(resumes, busyNanos), lastBatchResumesPerSecond);
+    }
+
+    private void submitZip(String uploadName, MultipartFile upload, List<PendingResume> pending)
+            throws IOException, InterruptedException {
+        try (ZipInputStream zip = new ZipInputStream(upload.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory() || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                String source = uploadName + "!" + entry.getName();
+                checkBatchSize(pending.size());
+                byte[] content = readEntry(zip);
+                Future<CandidateProfile> result = content == null
+                        ? CompletableFuture.failedFuture(new ResumeRejectedException(
+                                "Larger than " + maxResumeBytes + " bytes."))
+                        : resumeService.submit(content, entry.getName());
+                pending.add(new PendingResume(source, result));
+            }
+        }
+    }
+
+    private CandidateMatches rank(ParsedResume resume, List<JobPosting> corpus, int k) {
+        if (resume.profile() == null) {
+            return new CandidateMatches(resume.source(), null, List.of(), resume.error());
+        }
+        List<MatchedJob> matches = matchingService.matchAndRank(resume.profile(), corpus.stream(), k);
+        return new CandidateMatches(resume.source(), resume.profile(), matches, null);
+    }
+
+    /**
+     * Reads the current zip entry, or returns null if it exceeds the per-resume size limit
+     * (which also guards against highly compressed entries).
+     */
+    private byte[] readEntry(ZipInputStream zip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = zip.read(buffer)) > 0) {
+            if (out.size() + read > maxResumeBytes) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private void checkBatchSize(int submitted) {
+        if (submitted >= maxResumes) {
+            throw new BatchTooLargeException("A batch may contain at most " + maxResumes + " resumes.");
+        }
+    }
+
+    private synchronized void record(int resumeCount, int failed, long elapsedNanos, double resumesPerSecond) {
+        batches++;
+        resumes += resumeCount;
+        failedResumes += failed;
+        busyNanos += elapsedNanos;
+        lastBatchResumesPerSecond = resumesPerSecond;
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos > 0 ? count * 1_000_000_000.0 / nanos : 0;
+    }
+
+    private static <T> T join(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private final class PendingResume {
+        private final String source;
+        private final Future<CandidateProfile> result;
+
+        PendingResume(String source, Future<CandidateProfile> result) {
+            this.source = source;
+            this.result = result;
+        }
+
+        Future<CandidateProfile> result() {
+            return result;
+        }
+
+        ParsedResume await() {
+            try {
+                return new ParsedResume(source, resumeService.await(result, source), null);
+            } catch (Exception e) {
+                return ParsedResume.failed(source, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private record ParsedResume(String source, CandidateProfile profile, String error) {
+        static ParsedResume failed(String source, String error) {
+            return new ParsedResume(source, null, error);
+        }
+    }
+}
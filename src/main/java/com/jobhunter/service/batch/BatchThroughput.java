@@ -0,0 +1,14 @@
+package com.jobhunter.service.batch;
+
+/**
+ * Totals over all batches since startup. {@code resumesPerSecond} is resumes processed per
+ * second spent inside batches; {@code lastBatchResumesPerSecond} is the latest batch alone.
+ */
+public record BatchThroughput(
+    long batches,
+    long resumes,
+    long failedResumes,
+    long busyMillis,
+    double resumesPerSecond,
+    double lastBatchResumesPerSecond
+) {}
@@ -0,0 +1,14 @@
+package com.jobhunter.service.batch;
+
+/**
+ * A batch with more resumes than {@code job.batch.max_resumes}. The message is meant for the
+ * user.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
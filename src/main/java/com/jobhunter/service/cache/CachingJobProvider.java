@@ -0,0 +1,179 @@
+package com.jobhunter.service.cache;
+
+import com.jobhunter.logging.RateLimitedLogger;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.provider.FeedJobProvider;
+import com.jobhunter.service.provider.JobProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Stale-while-revalidate cache in front of a single provider.
+ *
+ * Feed providers are cached as one entry holding the whole unfiltered feed, and keywords are
+ * applied in memory on every call. Keyword-driven providers get one entry per normalized
+ * keyword set, bounded by an LRU. Within the TTL an entry is returned as is; past the TTL but
+ * within the stale window it is still returned while a single background refresh runs. Only a
+ * missing or fully expired entry makes the caller wait on the upstream, and concurrent callers
+ * for the same key share that one fetch. Failed fetches are never cached: an older entry, if
+ * any, keeps being served.
+ */
+final class CachingJobProvider implements JobProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingJobProvider.class);
+
+    private static final String FEED_KEY = "";
+
+    private final JobProvider delegate;
+    private final FeedJobProvider feedDelegate;
+    private final JobProviderCache.CacheSettings settings;
+    private final Executor fetchExecutor;
+    private final Map<String, Entry> entries;
+    private final ConcurrentMap<String, CompletableFuture<List<JobPosting>>> inFlight = new ConcurrentHashMap<>();
+    private final RateLimitedLogger warnings = new RateLimitedLogger(log, Duration.ofMinutes(1));
+
+    CachingJobProvider(JobProvider delegate, JobProviderCache.CacheSettings settings, Executor fetchExecutor) {
+        this.delegate = delegate;
+        this.feedDelegate = delegate instanceof FeedJobProvider feed ? feed : null;
+        this.settings = settings;
+        this.fetchExecutor = fetchExecutor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > settings.maxEntries();
+            }
+        };
+    }
+
+    @Override
+    public List<JobPosting> getJobs(String... keywords) {
+        if (feedDelegate != null) {
+            return feedDelegate.filter(lookup(FEED_KEY, feedDelegate::fetchFeed), keywords);
+        }
+        return lookup(cacheKey(keywords), () -> delegate.getJobs(keywords));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    private List<JobPosting> lookup(String key, Supplier<List<JobPosting>> loader) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        long age = entry != null ? System.currentTimeMillis() - entry.fetchedAtMillis() : Long.MAX_VALUE;
+        if (age < settings.ttl().toMillis()) {
+            return entry.jobs();
+        }
+        if (age < settings.ttl().plus(settings.maxStale()).toMillis()) {
+            refreshInBackground(key, loader);
+            return entry.jobs();
+        }
+
+        try {
+            return load(key, loader);
+        } catch (RuntimeException e) {
+            if (entry == null) {
+                throw e;
+            }
+            warnings.warn("refresh", "{} refresh failed ({}), serving expired cache entry.", name(), e.getMessage());
+            return entry.jobs();
+        }
+    }
+
+    private void refreshInBackground(String key, Supplier<List<JobPosting>> loader) {
+        if (!inFlight.containsKey(key)) {
+            fetch(key, loader).whenComplete((jobs, e) -> {
+                if (e != null) {
+                    warnings.warn("background", "Background refresh of {} failed: {}", name(), e.getMessage());
+                }
+            });
+        }
+    }
+
+    private List<JobPosting> load(String key, Supplier<List<JobPosting>> loader) {
+        return await(fetch(key, loader));
+    }
+
+    /**
+     * Starts a fetch for the key on the fetch executor, or joins the one already in flight.
+     * Fetches run off the caller's thread so that a caller giving up (e.g. on the fan-out
+     * deadline) does not cancel the fetch; it still completes and fills the cache.
+     */
+    private CompletableFuture<List<JobPosting>> fetch(String key, Supplier<List<JobPosting>> loader) {
+        CompletableFuture<List<JobPosting>> fetch = new CompletableFuture<>();
+        CompletableFuture<List<JobPosting>> existing = inFlight.putIfAbsent(key, fetch);
+        if (existing != null) {
+            return existing;
+        }
+
+        Runnable task = () -> {
+            try {
+                List<JobPosting> jobs = List.copyOf(loader.get());
+                synchronized (entries) {
+                    entries.put(key, new Entry(jobs, System.currentTimeMillis()));
+                }
+                fetch.complete(jobs);
+            } catch (RuntimeException | Error e) {
+                fetch.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, fetch);
+            }
+        };
+        try {
+            fetchExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+        return fetch;
+    }
+
+    private List<JobPosting> await(CompletableFuture<List<JobPosting>> fetch) {
+        try {
+            return fetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static String cacheKey(String... keywords) {
+        if (keywords == null) {
+            return FEED_KEY;
+        }
+        return Arrays.stream(keywords)
+                .filter(k -> k != null && !k.isBlank())
+                .map(k -> k.toLowerCase(Locale.ROOT).trim())
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining("\n"));
+    }
+
+    private record Entry(List<JobPosting> jobs, long fetchedAtMillis) {}
+}
@@ -0,0 +1,73 @@
+package com.jobhunter.service.cache;
+
+import com.jobhunter.logging.RequestContext;
+import com.jobhunter.service.provider.JobProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps job providers in a stale-while-revalidate result cache.
+ *
+ * Settings come from {@code job.cache.*} and can be overridden per provider under
+ * {@code job.provider.<name>.cache.*}, where {@code <name>} is {@link JobProvider#name()}.
+ */
+@Component
+public class JobProviderCache {
+
+    private final Environment environment;
+    private final boolean enabled;
+    private final ExecutorService fetchExecutor;
+
+    public JobProviderCache(Environment environment,
+                            @Value("${job.cache.enabled:true}") boolean enabled,
+                            @Value("${job.cache.fetch_threads:6}") int fetchThreads) {
+        this.environment = environment;
+        this.enabled = enabled;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fetchExecutor = Executors.newFixedThreadPool(fetchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "job-cache-fetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public JobProvider wrap(JobProvider provider) {
+        if (!enabled) {
+            return provider;
+        }
+        // fetches log with the context of the search that started them
+        return new CachingJobProvider(provider, settingsFor(provider.name()),
+                task -> fetchExecutor.execute(RequestContext.wrap(task)));
+    }
+
+    CacheSettings settingsFor(String providerName) {
+        long ttlSeconds = longProperty(providerName, "ttl_seconds", 900);
+        long maxStaleSeconds = longProperty(providerName, "max_stale_seconds", 3600);
+        int maxEntries = (int) longProperty(providerName, "max_entries", 200);
+        return new CacheSettings(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(maxStaleSeconds), maxEntries);
+    }
+
+    private long longProperty(String providerName, String key, long defaultValue) {
+        Long global = environment.getProperty("job.cache." + key, Long.class, defaultValue);
+        return environment.getProperty("job.provider." + providerName + ".cache." + key, Long.class, global);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * @param ttl        how long an entry is served without contacting the upstream
+     * @param maxStale   how long past the TTL an entry may still be served while it is refreshed
+     * @param maxEntries bound on distinct keyword sets kept for keyword-driven providers
+     */
+    record CacheSettings(Duration ttl, Duration maxStale, int maxEntries) {}
+}
@@ -0,0 +1,206 @@
+package com.jobhunter.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.service.ResumeService;
+import com.jobhunter.text.SkillTaxonomy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsed resumes keyed by the SHA-256 of the uploaded bytes (or of the pasted text), so that a
+ * re-submitted resume skips extraction entirely.
+ *
+ * Holds at most {@code job.resume.cache.max_entries} profiles, evicting the least recently used.
+ * With {@code job.resume.cache.file} set, entries are loaded from that file at startup and
+ * written back every {@code flush_seconds} when changed, and on shutdown. The file records the
+ * extractor version and skill taxonomy its profiles were parsed with; a file written under a
+ * different version or taxonomy is discarded, since its profiles would no longer match what
+ * parsing the same resume gives now.
+ */
+@Component
+public class ResumeCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeCache.class);
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Path file;
+    private final long flushSeconds;
+    private final String version;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, CandidateProfile> entries;
+    private ScheduledExecutorService flusher;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private boolean dirty;
+
+    public ResumeCache(SkillTaxonomy taxonomy,
+                       @Value("${job.resume.cache.enabled:true}") boolean enabled,
+                       @Value("${job.resume.cache.max_entries:1000}") int maxEntries,
+                       @Value("${job.resume.cache.file:}") String file,
+                       @Value("${job.resume.cache.flush_seconds:60}") long flushSeconds) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.flushSeconds = flushSeconds;
+        this.version = "extractor-" + ResumeService.EXTRACTOR_VERSION + "/taxonomy-" + taxonomy.fingerprint();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CandidateProfile> eldest) {
+                if (size() > ResumeCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static String digest(byte[] content) {
+        return sha256("doc:", content);
+    }
+
+    public static String digest(String text) {
+        return sha256("text:", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The cached profile for a digest, or null. Counts as a hit or a miss.
+     */
+    public synchronized CandidateProfile get(String digest) {
+        if (!enabled) {
+            return null;
+        }
+        CandidateProfile profile = entries.get(digest);
+        if (profile != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return profile;
+    }
+
+    public synchronized void put(String digest, CandidateProfile profile) {
+        if (!enabled) {
+            return;
+        }
+        entries.put(digest, profile);
+        dirty = true;
+    }
+
+    public synchronized ResumeCacheStats stats() {
+        long lookups = hits + misses;
+        return new ResumeCacheStats(enabled, entries.size(), maxEntries, hits, misses, evictions,
+                lookups > 0 ? (double) hits / lookups : 0);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || file == null) {
+            return;
+        }
+        if (Files.exists(file)) {
+            try {
+                PersistedCache persisted = objectMapper.readValue(file.toFile(), PersistedCache.class);
+                if (!version.equals(persisted.version()) || persisted.entries() == null) {
+                    log.info("Discarding resume cache {}: written by {}, now {}.", file, persisted.version(), version);
+                    Files.deleteIfExists(file);
+                } else {
+                    synchronized (this) {
+                        // stored least recently used first, so replaying them restores the LRU order
+                        for (PersistedEntry entry : persisted.entries()) {
+                            entries.put(entry.digest(), entry.profile());
+                        }
+                    }
+                    log.info("Loaded {} cached resume profile(s) from {}.", persisted.entries().size(), file);
+                }
+            } catch (IOException e) {
+                log.warn("Could not read resume cache {}, starting empty: {}", file, e.getMessage());
+            }
+        }
+        if (flushSeconds > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "resume-cache-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * Writes the entries to the cache file if they changed since the last write. The file is
+     * replaced atomically, so a crash mid-write leaves the previous version intact.
+     */
+    void flush() {
+        if (!enabled || file == null) {
+            return;
+        }
+        List<PersistedEntry> snapshot;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            snapshot = new ArrayList<>(entries.size());
+            entries.forEach((digest, profile) -> snapshot.add(new PersistedEntry(digest, profile)));
+            dirty = false;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(tmp.toFile(), new PersistedCache(version, snapshot));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.warn("Could not write resume cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String sha256(String kind, byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(kind.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record PersistedCache(String version, List<PersistedEntry> entries) {}
+
+    record PersistedEntry(String digest, CandidateProfile profile) {}
+}
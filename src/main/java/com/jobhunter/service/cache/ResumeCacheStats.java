@@ -0,0 +1,14 @@
+package com.jobhunter.service.cache;
+
+/**
+ * Counters of the parsed-resume cache since startup.
+ */
+public record ResumeCacheStats(
+    boolean enabled,
+    int entries,
+    int maxEntries,
+    long hits,
+    long misses,
+    long evictions,
+    double hitRate
+) {}
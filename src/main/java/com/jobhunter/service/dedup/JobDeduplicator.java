@@ -0,0 +1,306 @@
+package com.jobhunter.service.dedup;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.text.SimHash;
+import com.jobhunter.text.Tokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Merges postings that describe the same job, typically the same role listed on several
+ * providers.
+ *
+ * Two postings are duplicates when any of these hold:
+ * <ul>
+ *   <li>their apply URLs are equal once normalized (scheme, {@code www.}, trailing slash,
+ *       fragment and tracking parameters ignored);</li>
+ *   <li>company and title are equal once normalized (case, punctuation and legal suffixes such
+ *       as "Inc" or "GmbH" ignored);</li>
+ *   <li>their descriptions are near-duplicates, meaning SimHash fingerprints at most
+ *       {@code job.dedup.max_distance} bits apart, and they share either company or title.</li>
+ * </ul>
+ * Duplicates are merged transitively. The merged posting keeps the position of the first member
+ * and the fields of the member with the longest description, and lists every member's sources.
+ *
+ * One pass over the postings with hash lookups: URL and company/title keys are exact, and
+ * fingerprints are split into {@code max_distance + 1} bands so that any two within the distance
+ * agree exactly on at least one band, which turns the near-duplicate search into bucket lookups.
+ * Buckets are scanned up to {@link #MAX_BUCKET_SCAN} members, so boilerplate descriptions
+ * cannot make a pass quadratic.
+ */
+@Component
+public class JobDeduplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(JobDeduplicator.class);
+
+    private static final int MAX_BUCKET_SCAN = 64;
+
+    private static final Set<String> COMPANY_SUFFIXES = Set.of(
+            "inc", "llc", "ltd", "limited", "gmbh", "ag", "corp", "corporation", "co", "plc", "sa", "bv", "pvt");
+
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+            "ref", "source", "src", "referrer", "fbclid", "gclid", "trk", "campaign");
+
+    private final boolean enabled;
+    private final int maxDistance;
+    private final int minDescriptionTokens;
+
+    public JobDeduplicator(@Value("${job.dedup.enabled:true}") boolean enabled,
+                           @Value("${job.dedup.max_distance:4}") int maxDistance,
+                           @Value("${job.dedup.min_description_tokens:30}") int minDescriptionTokens) {
+        this.enabled = enabled;
+        this.maxDistance = Math.max(0, Math.min(maxDistance, 15));
+        this.minDescriptionTokens = minDescriptionTokens;
+    }
+
+    /**
+     * Returns the postings with duplicates merged, in order of first appearance.
+     */
+    public List<JobPosting> dedupe(List<JobPosting> jobs) {
+        int n = jobs.size();
+        if (!enabled || n < 2) {
+            return jobs;
+        }
+        Session session = new Session(n);
+        for (JobPosting job : jobs) {
+            session.link(job);
+        }
+        return merge(jobs, session.parent);
+    }
+
+    /**
+     * Starts an incremental de-duplication, for postings that are handed on one at a time as
+     * they arrive.
+     */
+    public Session session() {
+        return new Session(16);
+    }
+
+    /**
+     * De-duplication of postings seen one at a time: {@link #offer} tells whether a posting
+     * duplicates one offered earlier, by the same rules as {@link #dedupe}. Nothing can be merged
+     * into a posting that was already handed on, so the first of a group of duplicates wins as
+     * it is, without the others' sources. Not thread-safe.
+     */
+    public final class Session {
+
+        private int size;
+        private int[] parent;
+        private String[] companies;
+        private String[] titles;
+        private long[] fingerprints;
+        private final Map<String, Integer> byUrl = new HashMap<>();
+        private final Map<String, Integer> byCompanyAndTitle = new HashMap<>();
+        private final List<Map<Long, List<Integer>>> bands = new ArrayList<>();
+
+        private Session(int capacity) {
+            parent = new int[capacity];
+            companies = new String[capacity];
+            titles = new String[capacity];
+            fingerprints = new long[capacity];
+            for (int band = 0; band <= maxDistance; band++) {
+                bands.add(new HashMap<>());
+            }
+        }
+
+        /**
+         * Records the posting; returns false when it duplicates a posting offered before.
+         */
+        public boolean offer(JobPosting job) {
+            if (!enabled) {
+                return true;
+            }
+            int i = link(job);
+            return find(parent, i) == i;
+        }
+
+        private int link(JobPosting job) {
+            int i = size++;
+            if (i == parent.length) {
+                int capacity = parent.length * 2;
+                parent = Arrays.copyOf(parent, capacity);
+                companies = Arrays.copyOf(companies, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                fingerprints = Arrays.copyOf(fingerprints, capacity);
+            }
+            parent[i] = i;
+
+            String url = normalizeUrl(job.applyUrl());
+            if (url != null) {
+                linkToFirst(parent, i, byUrl.putIfAbsent(url, i));
+            }
+
+            companies[i] = normalizeCompany(job.company());
+            titles[i] = String.join(" ", job.text().titleTokens());
+            if (companies[i] != null && !titles[i].isEmpty()) {
+                linkToFirst(parent, i, byCompanyAndTitle.putIfAbsent(companies[i] + "|" + titles[i], i));
+            }
+
+            List<String> tokens = job.text().descriptionTokens();
+            if (tokens.size() >= minDescriptionTokens) {
+                fingerprints[i] = SimHash.of(tokens);
+                linkNearDuplicates(i, parent, bands, fingerprints, companies, titles);
+            }
+            return i;
+        }
+    }
+
+    private void linkNearDuplicates(int i, int[] parent, List<Map<Long, List<Integer>>> bands,
+                                    long[] fingerprints, String[] companies, String[] titles) {
+        int bandCount = bands.size();
+        int bandBits = 64 / bandCount;
+        for (int band = 0; band < bandCount; band++) {
+            int shift = band * bandBits;
+            int bits = band == bandCount - 1 ? 64 - shift : bandBits;
+            long mask = bits == 64 ? -1L : (1L << bits) - 1;
+            long value = (fingerprints[i] >>> shift) & mask;
+
+            List<Integer> bucket = bands.get(band).computeIfAbsent(value, v -> new ArrayList<>(2));
+            int scanned = 0;
+            for (int k = bucket.size() - 1; k >= 0 && scanned < MAX_BUCKET_SCAN; k--, scanned++) {
+                int j = bucket.get(k);
+                if (find(parent, i) != find(parent, j)
+                        && SimHash.distance(fingerprints[i], fingerprints[j]) <= maxDistance
+                        && (sameKey(companies[i], companies[j]) || sameKey(titles[i], titles[j]))) {
+                    link(parent, i, j);
+                }
+            }
+            bucket.add(i);
+        }
+    }
+
+    private static boolean sameKey(String a, String b) {
+        return a != null && !a.isEmpty() && a.equals(b);
+    }
+
+    /**
+     * Links posting {@code i} with the first posting seen under the same key, if there was one.
+     */
+    private static void linkToFirst(int[] parent, int i, Integer first) {
+        if (first != null) {
+            link(parent, i, first);
+        }
+    }
+
+    private static void link(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            // the earlier posting stays the root, so clusters keep their first position
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static List<JobPosting> merge(List<JobPosting> jobs, int[] parent) {
+        int n = jobs.size();
+        int[] best = new int[n];
+        Arrays.fill(best, -1);
+        Map<Integer, Set<String>> sources = new HashMap<>();
+        int clusters = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            JobPosting job = jobs.get(i);
+            if (best[root] < 0) {
+                clusters++;
+                best[root] = i;
+            } else if (length(job.description()) > length(jobs.get(best[root]).description())) {
+                best[root] = i;
+            }
+            if (!job.sources().isEmpty()) {
+                sources.computeIfAbsent(root, r -> new LinkedHashSet<>()).addAll(job.sources());
+            }
+        }
+        if (clusters == n) {
+            return jobs;
+        }
+
+        List<JobPosting> merged = new ArrayList<>(clusters);
+        for (int root = 0; root < n; root++) {
+            if (parent[root] != root) {
+                continue;
+            }
+            JobPosting job = jobs.get(best[root]);
+            Set<String> clusterSources = sources.get(root);
+            merged.add(clusterSources == null || clusterSources.size() == job.sources().size()
+                    ? job
+                    : job.withSources(new ArrayList<>(clusterSources)));
+        }
+        log.debug("Merged {} postings into {} after removing duplicates.", n, merged.size());
+        return merged;
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    static String normalizeUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            if (uri.getHost() == null) {
+                return url.trim().toLowerCase(Locale.ROOT);
+            }
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            StringBuilder key = new StringBuilder(host).append(path);
+            if (uri.getRawQuery() != null) {
+                Map<String, String> parameters = new TreeMap<>();
+                for (String parameter : uri.getRawQuery().split("&")) {
+                    int eq = parameter.indexOf('=');
+                    String name = eq < 0 ? parameter : parameter.substring(0, eq);
+                    String lowered = name.toLowerCase(Locale.ROOT);
+                    if (!name.isEmpty() && !lowered.startsWith("utm_") && !TRACKING_PARAMETERS.contains(lowered)) {
+                        parameters.put(name, eq < 0 ? "" : parameter.substring(eq + 1));
+                    }
+                }
+                parameters.forEach((name, value) -> key.append(key.indexOf("?") < 0 ? '?' : '&')
+                        .append(name).append('=').append(value));
+            }
+            return key.toString();
+        } catch (URISyntaxException e) {
+            return url.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Lowercased company tokens without legal suffixes, or null when the company is unknown.
+     */
+    static String normalizeCompany(String company) {
+        List<String> tokens = new ArrayList<>(Tokenizer.tokenize(company));
+        while (!tokens.isEmpty() && COMPANY_SUFFIXES.contains(tokens.get(tokens.size() - 1))) {
+            tokens.remove(tokens.size() - 1);
+        }
+        String normalized = String.join(" ", tokens);
+        return normalized.isEmpty() || normalized.equals("unknown") ? null : normalized;
+    }
+}
@@ -0,0 +1,116 @@
+package com.jobhunter.service.index;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of document ids backed by a growable int array. Postings are appended in id order
+ * almost always (new documents get the highest id), which keeps inserts cheap; removals and
+ * inserts of reused ids shift the tail.
+ */
+public final class DocIdSet {
+
+    static final DocIdSet EMPTY = new DocIdSet(new int[0], 0);
+
+    private int[] ids;
+    private int size;
+
+    DocIdSet() {
+        this(new int[4], 0);
+    }
+
+    private DocIdSet(int[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+
+    public boolean contains(int docId) {
+        return Arrays.binarySearch(ids, 0, size, docId) >= 0;
+    }
+
+    void add(int docId) {
+        if (size > 0 && ids[size - 1] < docId) {
+            ensureCapacity();
+            ids[size++] = docId;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, docId);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = docId;
+        size++;
+    }
+
+    void remove(int docId) {
+        int pos = Arrays.binarySearch(ids, 0, size, docId);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        if (size < ids.length / 4 && ids.length > 16) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+    }
+
+    /**
+     * Intersection by merging both sorted arrays, or by probing the larger set with binary
+     * search when the sizes are far apart.
+     */
+    public DocIdSet intersect(DocIdSet other) {
+        DocIdSet small = size <= other.size ? this : other;
+        DocIdSet large = small == this ? other : this;
+        int[] out = new int[small.size];
+        int n = 0;
+
+        if (large.size > small.size * 16L) {
+            for (int i = 0; i < small.size; i++) {
+                if (large.contains(small.ids[i])) {
+                    out[n++] = small.ids[i];
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.size && j < large.size) {
+                int a = small.ids[i];
+                int b = large.ids[j];
+                if (a == b) {
+                    out[n++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return new DocIdSet(out, n);
+    }
+
+    DocIdSet copy() {
+        return new DocIdSet(Arrays.copyOf(ids, size), size);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(4, ids.length * 2));
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.jobhunter.service.index;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.text.Tokenizer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over job postings.
+ *
+ * Title and description are tokenized once when a posting is added; each distinct token maps
+ * to the {@link DocIdSet} of postings containing it. Multi-word skill phrases ("spring boot")
+ * get their own posting sets: the first lookup of a phrase intersects its tokens' sets and
+ * checks adjacency against the token sequence kept per posting, and from then on the phrase is
+ * maintained incrementally like a token. The token sequences are also what makes removal
+ * possible. Postings are added and removed as feeds refresh; ids of removed postings are reused.
+ * The index refers to postings by key only; looking them up is left to the owner of the postings.
+ */
+public class JobIndex {
+
+    /** Placed between title and description so phrases never match across the two. */
+    private static final int FIELD_BREAK = -1;
+
+    /** Bound on remembered phrases; lookups of further phrases are computed each time. */
+    private static final int MAX_PHRASES = 10_000;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<DocIdSet> postings = new ArrayList<>();
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final List<int[]> docTokens = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final Map<String, Integer> phraseIds = new HashMap<>();
+    private final List<int[]> phraseTerms = new ArrayList<>();
+    private final List<DocIdSet> phrasePostings = new ArrayList<>();
+    private final Map<Integer, List<Integer>> phrasesByFirstTerm = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a posting under the given key, replacing whatever was indexed under it before.
+     */
+    public void add(String key, JobPosting posting) {
+        add(key, new Tokens(posting.text().titleTokens(), posting.text().descriptionTokens()));
+    }
+
+    /**
+     * Same as {@link #add(String, JobPosting)} with the tokens of the posting already known, as
+     * when restoring a corpus snapshot.
+     */
+    public void add(String key, Tokens fields) {
+        List<String> titleTokens = fields.title();
+        List<String> descriptionTokens = fields.description();
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIdsByKey.get(key);
+            int docId;
+            if (existing != null) {
+                docId = existing;
+                unindex(docId);
+            } else {
+                docId = allocateDocId();
+                docIdsByKey.put(key, docId);
+            }
+
+            int[] tokens = new int[titleTokens.size() + 1 + descriptionTokens.size()];
+            int n = 0;
+            for (String token : titleTokens) {
+                tokens[n++] = termId(token);
+            }
+            tokens[n++] = FIELD_BREAK;
+            for (String token : descriptionTokens) {
+                tokens[n++] = termId(token);
+            }
+            for (int i = 0; i < tokens.length; i++) {
+                if (tokens[i] != FIELD_BREAK) {
+                    postings.get(tokens[i]).add(docId);
+                    addToPhrasesStartingAt(tokens, i, docId);
+                }
+            }
+
+            keys.set(docId, key);
+            docTokens.set(docId, tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByKey.remove(key);
+            if (docId == null) {
+                return false;
+            }
+            unindex(docId);
+            keys.set(docId, null);
+            docTokens.set(docId, null);
+            freeDocIds.push(docId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The tokens a posting was indexed with, or null when nothing is indexed under the key.
+     */
+    public Tokens tokens(String key) {
+        lock.readLock().lock();
+        try {
+            Integer docId = docIdsByKey.get(key);
+            if (docId == null) {
+                return null;
+            }
+            int[] tokens = docTokens.get(docId);
+            int fieldBreak = 0;
+            while (tokens[fieldBreak] != FIELD_BREAK) {
+                fieldBreak++;
+            }
+            List<String> title = new ArrayList<>(fieldBreak);
+            List<String> description = new ArrayList<>(tokens.length - fieldBreak - 1);
+            for (int i = 0; i < tokens.length; i++) {
+                if (i < fieldBreak) {
+                    title.add(terms.get(tokens[i]));
+                } else if (i > fieldBreak) {
+                    description.add(terms.get(tokens[i]));
+                }
+            }
+            return new Tokens(title, description);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the postings whose title or description contains the phrase as whole tokens.
+     */
+    public DocIdSet docsMatching(String phrase) {
+        List<String> tokens = Tokenizer.tokenize(phrase);
+        registerPhrases(List.of(tokens));
+        lock.readLock().lock();
+        try {
+            return resolve(tokens).copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String key(int docId) {
+        lock.readLock().lock();
+        try {
+            return docId < keys.size() ? keys.get(docId) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the keys of up to {@code limit} postings containing at least one of the phrases, those
+     * containing the most distinct phrases first (ties in index order).
+     *
+     * Overlap is counted by walking each phrase's posting set once, and the cut-off is found
+     * with a histogram of the counts, so the cost is linear in the postings touched plus the
+     * index size, with no per-posting text scanning.
+     */
+    public List<String> topByOverlap(Collection<String> phrases, int limit) {
+        LinkedHashSet<List<String>> distinct = new LinkedHashSet<>();
+        for (String phrase : phrases) {
+            List<String> tokens = Tokenizer.tokenize(phrase);
+            if (!tokens.isEmpty()) {
+                distinct.add(tokens);
+            }
+        }
+        registerPhrases(distinct);
+
+        lock.readLock().lock();
+        try {
+            int[] counts = new int[keys.size()];
+            int[] histogram = new int[distinct.size() + 1];
+            for (List<String> phrase : distinct) {
+                DocIdSet matching = resolve(phrase);
+                for (int i = 0; i < matching.size(); i++) {
+                    counts[matching.get(i)]++;
+                }
+            }
+            for (int count : counts) {
+                histogram[count]++;
+            }
+
+            // lowest overlap that still makes the cut
+            int threshold = distinct.size();
+            int selected = histogram[threshold];
+            while (threshold > 1 && selected < limit) {
+                threshold--;
+                selected += histogram[threshold];
+            }
+
+            List<Integer> hits = new ArrayList<>(Math.min(limit, selected));
+            for (int docId = 0; docId < counts.length; docId++) {
+                if (counts[docId] >= threshold && counts[docId] > 0) {
+                    hits.add(docId);
+                }
+            }
+            hits.sort(Comparator.comparingInt((Integer docId) -> counts[docId]).reversed());
+
+            List<String> result = new ArrayList<>(Math.min(limit, hits.size()));
+            for (int i = 0; i < hits.size() && result.size() < limit; i++) {
+                result.add(keys.get(hits.get(i)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting set of a token or phrase. Must be called with the read (or write) lock held.
+     */
+    private DocIdSet resolve(List<String> phraseTokens) {
+        if (phraseTokens.isEmpty()) {
+            return DocIdSet.EMPTY;
+        }
+        if (phraseTokens.size() == 1) {
+            Integer termId = termIds.get(phraseTokens.get(0));
+            return termId != null ? postings.get(termId) : DocIdSet.EMPTY;
+        }
+        Integer phraseId = phraseIds.get(String.join(" ", phraseTokens));
+        if (phraseId != null) {
+            return phrasePostings.get(phraseId);
+        }
+
+        int[] phraseTermIds = new int[phraseTokens.size()];
+        for (int i = 0; i < phraseTermIds.length; i++) {
+            Integer termId = termIds.get(phraseTokens.get(i));
+            if (termId == null) {
+                return DocIdSet.EMPTY;
+            }
+            phraseTermIds[i] = termId;
+        }
+        return scanPhrase(phraseTermIds);
+    }
+
+    private DocIdSet scanPhrase(int[] phraseTermIds) {
+        DocIdSet candidates = postings.get(phraseTermIds[0]);
+        for (int i = 1; i < phraseTermIds.length; i++) {
+            candidates = candidates.intersect(postings.get(phraseTermIds[i]));
+        }
+
+        DocIdSet phraseDocs = new DocIdSet();
+        for (int i = 0; i < candidates.size(); i++) {
+            int docId = candidates.get(i);
+            if (containsSequence(docTokens.get(docId), phraseTermIds)) {
+                phraseDocs.add(docId);
+            }
+        }
+        return phraseDocs;
+    }
+
+    /**
+     * Gives every multi-token phrase not seen before its own maintained posting set. Takes the
+     * write lock only when there is something new to register.
+     */
+    private void registerPhrases(Collection<List<String>> phrases) {
+        lock.readLock().lock();
+        try {
+            if (phrases.stream().allMatch(tokens -> tokens.size() < 2 || phraseIds.containsKey(String.join(" ", tokens)))) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (List<String> tokens : phrases) {
+                String key = String.join(" ", tokens);
+                if (tokens.size() < 2 || phraseIds.containsKey(key) || phraseIds.size() >= MAX_PHRASES) {
+                    continue;
+                }
+                int[] phraseTermIds = tokens.stream().mapToInt(this::termId).toArray();
+                int phraseId = phraseTerms.size();
+                phraseIds.put(key, phraseId);
+                phraseTerms.add(phraseTermIds);
+                phrasePostings.add(scanPhrase(phraseTermIds));
+                phrasesByFirstTerm.computeIfAbsent(phraseTermIds[0], first -> new ArrayList<>()).add(phraseId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addToPhrasesStartingAt(int[] tokens, int start, int docId) {
+        List<Integer> candidates = phrasesByFirstTerm.get(tokens[start]);
+        if (candidates == null) {
+            return;
+        }
+        for (int phraseId : candidates) {
+            int[] phrase = phraseTerms.get(phraseId);
+            if (matchesAt(tokens, start, phrase)) {
+                phrasePostings.get(phraseId).add(docId);
+            }
+        }
+    }
+
+    private static boolean containsSequence(int[] tokens, int[] sequence) {
+        for (int start = 0; start + sequence.length <= tokens.length; start++) {
+            if (matchesAt(tokens, start, sequence)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAt(int[] tokens, int start, int[] sequence) {
+        if (start + sequence.length > tokens.length) {
+            return false;
+        }
+        for (int j = 0; j < sequence.length; j++) {
+            if (tokens[start + j] != sequence[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unindex(int docId) {
+        for (int termId : docTokens.get(docId)) {
+            if (termId != FIELD_BREAK) {
+                postings.get(termId).remove(docId);
+                List<Integer> phrases = phrasesByFirstTerm.get(termId);
+                if (phrases != null) {
+                    for (int phraseId : phrases) {
+                        phrasePostings.get(phraseId).remove(docId);
+                    }
+                }
+            }
+        }
+    }
+
+    private int allocateDocId() {
+        if (!freeDocIds.isEmpty()) {
+            return freeDocIds.pop();
+        }
+        keys.add(null);
+        docTokens.add(null);
+        return keys.size() - 1;
+    }
+
+    private int termId(String token) {
+        Integer id = termIds.get(token);
+        if (id == null) {
+            id = postings.size();
+            termIds.put(token, id);
+            terms.add(token);
+            postings.add(new DocIdSet());
+        }
+        return id;
+    }
+
+    /**
+     * Title and description tokens of one posting, as produced by {@link Tokenizer}.
+     */
+    public record Tokens(List<String> title, List<String> description) {}
+}
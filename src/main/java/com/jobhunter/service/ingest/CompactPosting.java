@@ -0,0 +1,175 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.PostingText;
+import com.jobhunter.service.index.JobIndex;
+import com.jobhunter.text.WeakInterner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A stored posting in the form the {@link JobStore} keeps it in memory.
+ *
+ * Provider, title, company, location and sources are shared instances from a
+ * {@link WeakInterner}, so the thousands of postings located in "Remote" or titled "Senior
+ * Software Engineer" hold one string between them, and a value leaves the pool once the last
+ * posting holding it is removed. The description, usually the bulk of a posting and often HTML,
+ * is kept as deflated UTF-8 when that is smaller. {@link #posting()} builds the
+ * {@link JobPosting} handed to searches; only its description is decoded, everything else is
+ * referenced as is.
+ */
+final class CompactPosting {
+
+    /** Descriptions shorter than this are not worth compressing. */
+    private static final int MIN_COMPRESSED_BYTES = 128;
+
+    private static final WeakInterner POOL = new WeakInterner();
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final String provider;
+    private final String id;
+    private final String title;
+    private final String company;
+    private final String location;
+    private final byte[] description;
+    private final int descriptionLength;
+    private final String applyUrl;
+    private final List<String> sources;
+    private final long firstSeenMillis;
+    private final long lastSeenMillis;
+
+    private CompactPosting(String provider, String id, String title, String company, String location,
+                           byte[] description, int descriptionLength, String applyUrl, List<String> sources,
+                           long firstSeenMillis, long lastSeenMillis) {
+        this.provider = provider;
+        this.id = id;
+        this.title = title;
+        this.company = company;
+        this.location = location;
+        this.description = description;
+        this.descriptionLength = descriptionLength;
+        this.applyUrl = applyUrl;
+        this.sources = sources;
+        this.firstSeenMillis = firstSeenMillis;
+        this.lastSeenMillis = lastSeenMillis;
+    }
+
+    static CompactPosting of(JobStore.StoredPosting stored) {
+        JobPosting posting = stored.posting();
+        byte[] utf8 = posting.description() == null ? null : posting.description().getBytes(StandardCharsets.UTF_8);
+        return new CompactPosting(
+                POOL.intern(stored.provider()),
+                posting.id(),
+                POOL.intern(posting.title()),
+                POOL.intern(posting.company()),
+                POOL.intern(posting.location()),
+                utf8 == null ? null : compress(utf8),
+                utf8 == null ? -1 : utf8.length,
+                posting.applyUrl(),
+                List.copyOf(posting.sources().stream().map(POOL::intern).toList()),
+                stored.firstSeenMillis(),
+                stored.lastSeenMillis());
+    }
+
+    String provider() {
+        return provider;
+    }
+
+    long firstSeenMillis() {
+        return firstSeenMillis;
+    }
+
+    long lastSeenMillis() {
+        return lastSeenMillis;
+    }
+
+    JobPosting posting() {
+        return new JobPosting(id, title, company, location, description(), applyUrl, sources);
+    }
+
+    /**
+     * The posting with its normalized text already tokenized, as the index holds it; without
+     * tokens the posting tokenizes itself when first asked.
+     */
+    JobPosting posting(JobIndex.Tokens tokens) {
+        if (tokens == null) {
+            return posting();
+        }
+        String description = description();
+        return new JobPosting(id, title, company, location, description, applyUrl, sources,
+                PostingText.tokenized(title, description, tokens.title(), tokens.description()));
+    }
+
+    JobStore.StoredPosting stored() {
+        return new JobStore.StoredPosting(provider, posting(), firstSeenMillis, lastSeenMillis);
+    }
+
+    CompactPosting seenAt(long lastSeenMillis) {
+        return new CompactPosting(provider, id, title, company, location, description, descriptionLength,
+                applyUrl, sources, firstSeenMillis, lastSeenMillis);
+    }
+
+    /**
+     * Whether this holds the same posting; the description is only decoded when every other
+     * field already matches.
+     */
+    boolean sameAs(JobPosting posting) {
+        return Objects.equals(id, posting.id())
+                && Objects.equals(title, posting.title())
+                && Objects.equals(company, posting.company())
+                && Objects.equals(location, posting.location())
+                && Objects.equals(applyUrl, posting.applyUrl())
+                && sources.equals(posting.sources())
+                && Objects.equals(description(), posting.description());
+    }
+
+    private String description() {
+        if (description == null) {
+            return null;
+        }
+        if (description.length == descriptionLength) {
+            return new String(description, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(description);
+        byte[] utf8 = new byte[descriptionLength];
+        try {
+            int n = 0;
+            while (n < utf8.length && !inflater.finished()) {
+                int inflated = inflater.inflate(utf8, n, utf8.length - n);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated input");
+                }
+                n += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed description of posting " + id, e);
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] compress(byte[] utf8) {
+        if (utf8.length < MIN_COMPRESSED_BYTES) {
+            return utf8;
+        }
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(utf8);
+        deflater.finish();
+        byte[] buffer = new byte[utf8.length];
+        int n = 0;
+        while (!deflater.finished() && n < buffer.length) {
+            n += deflater.deflate(buffer, n, buffer.length - n);
+        }
+        // no gain: keep the raw bytes, which a length equal to the original marks as such
+        return deflater.finished() && n < utf8.length ? Arrays.copyOf(buffer, n) : utf8;
+    }
+}
@@ -0,0 +1,8 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.service.index.JobIndex;
+
+/**
+ * One stored posting with the tokens it is indexed under, as written to a corpus snapshot.
+ */
+record CorpusEntry(JobStore.StoredPosting stored, JobIndex.Tokens tokens) {}
@@ -0,0 +1,286 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of changes to the job store since the last corpus snapshot.
+ *
+ * The file starts with a magic number and a format version, followed by records of the form
+ * {@code [int length][int crc32][payload]}. A payload is an upsert (the whole stored posting), a
+ * touch (key and last-seen time of a posting that came back unchanged) or a removal (key).
+ * Batches are forced to disk before {@link #append} returns. A crash can leave a torn record at
+ * the end; opening the journal replays every record up to the first one that is incomplete or
+ * fails its checksum and cuts the file there.
+ */
+final class CorpusLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(CorpusLog.class);
+
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4A48_4C47; // "JHLG"
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_BYTES = 64 << 20;
+
+    private static final byte UPSERT = 1;
+    private static final byte TOUCH = 2;
+    private static final byte REMOVE = 3;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int replayed;
+
+    private CorpusLog(Path file, FileChannel channel, int replayed) {
+        this.file = file;
+        this.channel = channel;
+        this.replayed = replayed;
+    }
+
+    /**
+     * Opens the journal for appending, creating it if needed, after replaying its records into
+     * the visitor.
+     *
+     * @throws IOException when the file cannot be opened or is not a journal of a supported
+     *                     version
+     */
+    static CorpusLog open(Path file, Visitor visitor) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                channel.truncate(0);
+                writeFully(channel, header, 0);
+                channel.force(true);
+                channel.position(HEADER_SIZE);
+                return new CorpusLog(file, channel, 0);
+            }
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 1 << 16));
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a corpus journal");
+            }
+            int version = in.readInt();
+            if (version > VERSION) {
+                throw new IOException(file + " has format version " + version + ", newer than " + VERSION);
+            }
+
+            long valid = HEADER_SIZE;
+            int records = 0;
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                replay(ByteBuffer.wrap(payload), visitor);
+                valid += 2 * Integer.BYTES + payload.length;
+                records++;
+            }
+
+            if (valid < channel.size()) {
+                log.warn("Dropping {} bytes of incomplete records at the end of {}", channel.size() - valid, file.getFileName());
+                channel.truncate(valid);
+                channel.force(true);
+            }
+            channel.position(valid);
+            return new CorpusLog(file, channel, records);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /**
+     * Number of records replayed when the journal was opened.
+     */
+    int replayed() {
+        return replayed;
+    }
+
+    synchronized void append(Batch batch) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(batch.bytes.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void replay(ByteBuffer payload, Visitor visitor) {
+        byte type = payload.get();
+        switch (type) {
+            case UPSERT -> {
+                String provider = readString(payload);
+                String id = readString(payload);
+                String title = readString(payload);
+                String company = readString(payload);
+                String location = readString(payload);
+                String description = readString(payload);
+                String applyUrl = readString(payload);
+                int sourceCount = payload.getInt();
+                List<String> sources = new ArrayList<>(sourceCount);
+                for (int i = 0; i < sourceCount; i++) {
+                    sources.add(readString(payload));
+                }
+                JobPosting posting = new JobPosting(id, title, company, location, description, applyUrl, sources);
+                visitor.upsert(new JobStore.StoredPosting(provider, posting, payload.getLong(), payload.getLong()));
+            }
+            case TOUCH -> visitor.touch(readString(payload), payload.getLong());
+            case REMOVE -> visitor.remove(readString(payload));
+            default -> throw new IllegalStateException("Unknown corpus journal record type " + type);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Receives the records of a journal as it is replayed.
+     */
+    interface Visitor {
+
+        void upsert(JobStore.StoredPosting stored);
+
+        void touch(String key, long lastSeenMillis);
+
+        void remove(String key);
+    }
+
+    /**
+     * Records to be appended together and forced to disk once.
+     */
+    static final class Batch {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(payload);
+        private final CRC32 crc = new CRC32();
+        private int size;
+
+        Batch upsert(JobStore.StoredPosting stored) {
+            JobPosting posting = stored.posting();
+            return record(UPSERT, () -> {
+                writeString(stored.provider());
+                writeString(posting.id());
+                writeString(posting.title());
+                writeString(posting.company());
+                writeString(posting.location());
+                writeString(posting.description());
+                writeString(posting.applyUrl());
+                out.writeInt(posting.sources().size());
+                for (String source : posting.sources()) {
+                    writeString(source);
+                }
+                out.writeLong(stored.firstSeenMillis());
+                out.writeLong(stored.lastSeenMillis());
+            });
+        }
+
+        Batch touch(String key, long lastSeenMillis) {
+            return record(TOUCH, () -> {
+                writeString(key);
+                out.writeLong(lastSeenMillis);
+            });
+        }
+
+        Batch remove(String key) {
+            return record(REMOVE, () -> writeString(key));
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private Batch record(byte type, Fields fields) {
+            try {
+                payload.reset();
+                out.writeByte(type);
+                fields.write();
+                out.flush();
+                crc.reset();
+                crc.update(payload.toByteArray());
+                DataOutputStream header = new DataOutputStream(bytes);
+                header.writeInt(payload.size());
+                header.writeInt((int) crc.getValue());
+                payload.writeTo(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            size++;
+            return this;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+
+        private interface Fields {
+            void write() throws IOException;
+        }
+    }
+}
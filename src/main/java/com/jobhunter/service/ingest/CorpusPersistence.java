@@ -0,0 +1,322 @@
+package com.jobhunter.service.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the {@link JobStore} on disk, so a restart serves searches from the postings ingested
+ * before it instead of waiting for every provider to be pulled again.
+ *
+ * Changes are appended to a journal ({@link CorpusLog}) as they happen. Every
+ * {@code job.corpus.snapshot_interval_seconds}, or once {@code job.corpus.compact_after_records}
+ * records have accumulated, the store is compacted into a memory-mapped {@link CorpusSnapshot}
+ * and the journal starts over. Files in {@code job.corpus.dir} carry a generation number:
+ * snapshot {@code corpus-<g>.snap} holds everything written to journals before
+ * {@code corpus-<g>.log}. On startup the newest snapshot that validates is loaded, the journals
+ * of its generation and later are replayed, and appending continues on the newest one.
+ *
+ * A snapshot is written under a temporary name and renamed into place once it is on disk; older
+ * files are only deleted after that, so a crash at any point leaves a snapshot and journals
+ * that together hold every acknowledged change.
+ */
+@Component
+public class CorpusPersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(CorpusPersistence.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("corpus-(\\d{16})\\.(snap|log)");
+
+    private final boolean enabled;
+    private final Path dir;
+    private final Duration snapshotInterval;
+    private final long compactAfterRecords;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private JobStore store;
+    private CorpusLog journal;
+    private long generation;
+
+    public CorpusPersistence(@Value("${job.corpus.enabled:true}") boolean enabled,
+                             @Value("${job.corpus.dir:data/corpus}") String dir,
+                             @Value("${job.corpus.snapshot_interval_seconds:3600}") long snapshotIntervalSeconds,
+                             @Value("${job.corpus.compact_after_records:50000}") long compactAfterRecords) {
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.snapshotInterval = Duration.ofSeconds(Math.max(1, snapshotIntervalSeconds));
+        this.compactAfterRecords = Math.max(1, compactAfterRecords);
+    }
+
+    /**
+     * Restores the store from disk and starts journaling its changes. Without a usable
+     * directory the store keeps working in memory only.
+     */
+    void open(JobStore store) {
+        if (!enabled) {
+            log.info("Job corpus persistence disabled; the store starts empty on every restart.");
+            return;
+        }
+        this.store = store;
+        try {
+            Files.createDirectories(dir);
+            recover();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not restore the job corpus from {}: {}; continuing without persistence", dir, e.toString());
+            closeJournal();
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-corpus-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = snapshotInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::compactIfPending, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        if (pending.get() > 0) {
+            requestCompaction();
+        }
+    }
+
+    void recordUpserts(List<JobStore.StoredPosting> changed, List<String> touched, long seenMillis) {
+        CorpusLog.Batch batch = new CorpusLog.Batch();
+        changed.forEach(batch::upsert);
+        touched.forEach(key -> batch.touch(key, seenMillis));
+        append(batch);
+    }
+
+    void recordRemovals(List<String> keys) {
+        CorpusLog.Batch batch = new CorpusLog.Batch();
+        keys.forEach(batch::remove);
+        append(batch);
+    }
+
+    /**
+     * Writes a final snapshot if anything changed since the last one and closes the journal.
+     */
+    void close() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pending.get() > 0 && compacting.compareAndSet(false, true)) {
+            compact();
+        }
+        closeJournal();
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        deleteFiles(name -> name.endsWith(".tmp"));
+        NavigableMap<Long, Path> snapshots = files("snap");
+        NavigableMap<Long, Path> journals = files("log");
+
+        CorpusSnapshot snapshot = null;
+        for (Path file : snapshots.descendingMap().values()) {
+            try {
+                snapshot = CorpusSnapshot.open(file);
+                break;
+            } catch (IOException e) {
+                log.warn("Skipping corpus snapshot {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        long base = 0;
+        if (snapshot != null) {
+            base = snapshot.generation();
+            for (int row = 0; row < snapshot.size(); row++) {
+                store.restore(snapshot.posting(row), snapshot.tokens(row));
+            }
+        }
+
+        CorpusLog.Visitor replay = new CorpusLog.Visitor() {
+            @Override
+            public void upsert(JobStore.StoredPosting stored) {
+                store.restore(stored, null);
+            }
+
+            @Override
+            public void touch(String key, long lastSeenMillis) {
+                store.restoreLastSeen(key, lastSeenMillis);
+            }
+
+            @Override
+            public void remove(String key) {
+                store.restoreRemoval(key);
+            }
+        };
+        generation = Math.max(base, 1);
+        int replayed = 0;
+        for (Map.Entry<Long, Path> entry : journals.tailMap(base, true).entrySet()) {
+            closeJournal();
+            journal = CorpusLog.open(entry.getValue(), replay);
+            generation = entry.getKey();
+            replayed += journal.replayed();
+        }
+        if (journal == null) {
+            journal = CorpusLog.open(journalFile(generation), replay);
+        }
+        pending.set(replayed);
+
+        if (snapshot != null || replayed > 0) {
+            log.info("Restored {} postings from {} (snapshot generation {}, {} journal records) in {}ms",
+                    store.size(), dir, base, replayed, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void append(CorpusLog.Batch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.append(batch);
+            } catch (IOException e) {
+                log.error("Could not append to corpus journal {}: {}", journal.file().getFileName(), e.getMessage());
+                return;
+            }
+        }
+        if (pending.addAndGet(batch.size()) >= compactAfterRecords) {
+            requestCompaction();
+        }
+    }
+
+    private void compactIfPending() {
+        if (pending.get() > 0 && compacting.compareAndSet(false, true)) {
+            compact();
+        }
+    }
+
+    private void requestCompaction() {
+        if (compacting.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::compact);
+            } catch (RuntimeException e) {
+                compacting.set(false);
+            }
+        }
+    }
+
+    /**
+     * Starts a new journal, writes the store to a snapshot of the new generation and deletes
+     * the files the snapshot supersedes. Changes made while the snapshot is written go to the
+     * new journal; replaying them over a snapshot that already has them is harmless.
+     */
+    private void compact() {
+        try {
+            long start = System.nanoTime();
+            long compacted = pending.get();
+            long snapshotGeneration = rotate();
+            List<CorpusEntry> entries = store.corpusEntries();
+
+            Path target = snapshotFile(snapshotGeneration);
+            Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            CorpusSnapshot.write(temporary, snapshotGeneration, entries);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            pending.addAndGet(-compacted);
+            deleteFiles(name -> {
+                Matcher matcher = FILE_NAME.matcher(name);
+                return matcher.matches() && Long.parseLong(matcher.group(1)) < snapshotGeneration;
+            });
+            log.info("Wrote corpus snapshot {} with {} postings ({} KB) in {}ms", target.getFileName(),
+                    entries.size(), Files.size(target) / 1024, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write corpus snapshot: {}", e.toString());
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private synchronized long rotate() throws IOException {
+        CorpusLog next = CorpusLog.open(journalFile(generation + 1), null);
+        closeJournal();
+        journal = next;
+        return ++generation;
+    }
+
+    private synchronized void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Could not close corpus journal {}: {}", journal.file().getFileName(), e.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Makes the rename of a snapshot durable. Not every platform can sync a directory; the
+     * rename itself is atomic either way.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private NavigableMap<Long, Path> files(String extension) throws IOException {
+        NavigableMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches() && matcher.group(2).equals(extension)) {
+                    files.put(Long.parseLong(matcher.group(1)), file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private void deleteFiles(Predicate<String> names) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                if (names.test(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path snapshotFile(long generation) {
+        return dir.resolve(String.format("corpus-%016d.snap", generation));
+    }
+
+    private Path journalFile(long generation) {
+        return dir.resolve(String.format("corpus-%016d.log", generation));
+    }
+}
@@ -0,0 +1,325 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.index.JobIndex;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Read-only, memory-mapped columnar snapshot of the job corpus.
+ *
+ * Every string (ids, titles, companies, locations, descriptions, URLs, provider names and the
+ * tokens of titles and descriptions) is stored once in a string table and referenced by index,
+ * so a company or location shared by thousands of postings, or a token used everywhere, costs
+ * one entry. Postings are fixed-width rows of string ids, -1 standing for null (format version
+ * 1 stored null as ""); their sources and token sequences are runs in a shared int pool. Strings
+ * are decoded from the mapping on first use and then shared between postings. Tokens written
+ * before format version 3 kept dotted words whole ("java.we"), which the tokenizer no longer
+ * does; they are not read, and postings from such a snapshot are tokenized again.
+ *
+ * <pre>
+ * header   (96 bytes) magic, format version, generation, creation time, section offsets,
+ *          file length, CRC32 of the body and CRC32 of the header itself
+ * strings  UTF-8 bytes of every string, back to back
+ * offsets  int[stringCount + 1], start of each string within the string section
+ * rows     64 bytes per posting: provider, id, title, company, location, description,
+ *          applyUrl, sourcesPos, sourcesCount, tokensPos, titleTokens, descriptionTokens (ints),
+ *          firstSeen, lastSeen (longs)
+ * pool     int[], string ids of sources and of title/description tokens
+ * </pre>
+ *
+ * A snapshot is written to a temporary file, forced to disk and then renamed into place, so a
+ * reader sees either a complete file or none. Files with a newer format version, a bad
+ * checksum or a wrong length are rejected as a whole. A snapshot is limited to 2 GB, the size
+ * of a single mapping.
+ */
+final class CorpusSnapshot {
+
+    static final int VERSION = 3;
+
+    private static final long MAGIC = 0x4A48_434F_5250_5553L; // "JHCORPUS"
+    private static final int HEADER_SIZE = 96;
+    private static final int ROW_SIZE = 64;
+    private static final int HEADER_CRC_POS = 80;
+    private static final int NULL_ID = -1;
+    /** Oldest format version whose tokens are split the way the current tokenizer splits them. */
+    private static final int TOKENS_VERSION = 3;
+
+    private final MappedByteBuffer buffer;
+    private final long generation;
+    private final boolean currentTokens;
+    private final int rowCount;
+    private final int stringCount;
+    private final int stringDataPos;
+    private final int stringOffsetsPos;
+    private final int rowsPos;
+    private final int poolPos;
+    private final String[] strings;
+
+    private CorpusSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.generation = buffer.getLong(16);
+        this.currentTokens = buffer.getInt(8) >= TOKENS_VERSION;
+        this.rowCount = buffer.getInt(32);
+        this.stringCount = buffer.getInt(36);
+        this.stringDataPos = buffer.getInt(40);
+        this.stringOffsetsPos = buffer.getInt(48);
+        this.rowsPos = buffer.getInt(52);
+        this.poolPos = buffer.getInt(56);
+        this.strings = new String[stringCount];
+    }
+
+    /**
+     * Maps and validates a snapshot file.
+     *
+     * @throws IOException when the file cannot be read or is not a complete snapshot of a
+     *                     supported version
+     */
+    static CorpusSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a corpus snapshot (size " + size + ")");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getLong(0) != MAGIC) {
+                throw new IOException(file + " is not a corpus snapshot");
+            }
+            int version = buffer.getInt(8);
+            if (version > VERSION) {
+                throw new IOException(file + " has format version " + version + ", newer than " + VERSION);
+            }
+            if (crc(buffer, 0, HEADER_CRC_POS) != buffer.getLong(HEADER_CRC_POS)) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            if (buffer.getLong(64) != size) {
+                throw new IOException(file + " is truncated");
+            }
+            if (crc(buffer, HEADER_SIZE, (int) size) != buffer.getLong(72)) {
+                throw new IOException(file + " fails its checksum");
+            }
+            return new CorpusSnapshot(buffer);
+        }
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    int size() {
+        return rowCount;
+    }
+
+    JobStore.StoredPosting posting(int row) {
+        int base = rowsPos + row * ROW_SIZE;
+        List<String> sources = strings(buffer.getInt(base + 28), buffer.getInt(base + 32));
+        JobPosting posting = new JobPosting(
+                string(buffer.getInt(base + 4)),
+                string(buffer.getInt(base + 8)),
+                string(buffer.getInt(base + 12)),
+                string(buffer.getInt(base + 16)),
+                string(buffer.getInt(base + 20)),
+                string(buffer.getInt(base + 24)),
+                sources);
+        return new JobStore.StoredPosting(string(buffer.getInt(base)), posting,
+                buffer.getLong(base + 48), buffer.getLong(base + 56));
+    }
+
+    /**
+     * Tokens the posting was indexed under, or null when they were written by an older
+     * tokenizer and the posting has to be tokenized again.
+     */
+    JobIndex.Tokens tokens(int row) {
+        if (!currentTokens) {
+            return null;
+        }
+        int base = rowsPos + row * ROW_SIZE;
+        int tokensPos = buffer.getInt(base + 36);
+        int titleTokens = buffer.getInt(base + 40);
+        int descriptionTokens = buffer.getInt(base + 44);
+        return new JobIndex.Tokens(strings(tokensPos, titleTokens), strings(tokensPos + titleTokens, descriptionTokens));
+    }
+
+    private List<String> strings(int poolIndex, int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = string(buffer.getInt(poolPos + (poolIndex + i) * Integer.BYTES));
+        }
+        return Arrays.asList(values);
+    }
+
+    private String string(int id) {
+        if (id == NULL_ID) {
+            return null;
+        }
+        String value = strings[id];
+        if (value == null) {
+            int start = buffer.getInt(stringOffsetsPos + id * Integer.BYTES);
+            int end = buffer.getInt(stringOffsetsPos + (id + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            buffer.get(stringDataPos + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    private static long crc(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(from).limit(to));
+        return crc.getValue();
+    }
+
+    /**
+     * Writes a snapshot of the given postings to {@code file} and forces it to disk. The caller
+     * renames it into place.
+     */
+    static void write(Path file, long generation, List<CorpusEntry> entries) throws IOException {
+        Layout layout = new Layout(entries);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_SIZE);
+            CRC32 bodyCrc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), bodyCrc));
+
+            int stringDataPos = HEADER_SIZE;
+            int[] offsets = new int[layout.strings.size() + 1];
+            long position = 0;
+            for (int i = 0; i < layout.strings.size(); i++) {
+                byte[] bytes = layout.strings.get(i).getBytes(StandardCharsets.UTF_8);
+                out.write(bytes);
+                position += bytes.length;
+                offsets[i + 1] = checkedSize(position);
+            }
+            int stringDataLength = offsets[offsets.length - 1];
+
+            int stringOffsetsPos = checkedSize((long) stringDataPos + stringDataLength);
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+
+            int rowsPos = checkedSize(stringOffsetsPos + (long) offsets.length * Integer.BYTES);
+            for (int row = 0; row < entries.size(); row++) {
+                for (int column = 0; column < Layout.ROW_INTS; column++) {
+                    out.writeInt(layout.rows[row * Layout.ROW_INTS + column]);
+                }
+                JobStore.StoredPosting stored = entries.get(row).stored();
+                out.writeLong(stored.firstSeenMillis());
+                out.writeLong(stored.lastSeenMillis());
+            }
+
+            int poolPos = checkedSize(rowsPos + (long) entries.size() * ROW_SIZE);
+            for (int i = 0; i < layout.poolSize; i++) {
+                out.writeInt(layout.pool[i]);
+            }
+            out.flush();
+            int fileLength = checkedSize(poolPos + (long) layout.poolSize * Integer.BYTES);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putLong(0, MAGIC)
+                    .putInt(8, VERSION)
+                    .putInt(12, HEADER_SIZE)
+                    .putLong(16, generation)
+                    .putLong(24, System.currentTimeMillis())
+                    .putInt(32, entries.size())
+                    .putInt(36, layout.strings.size())
+                    .putInt(40, stringDataPos)
+                    .putInt(44, stringDataLength)
+                    .putInt(48, stringOffsetsPos)
+                    .putInt(52, rowsPos)
+                    .putInt(56, poolPos)
+                    .putInt(60, layout.poolSize)
+                    .putLong(64, fileLength)
+                    .putLong(72, bodyCrc.getValue());
+            header.putLong(HEADER_CRC_POS, crc(header, 0, HEADER_CRC_POS));
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    private static int checkedSize(long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Corpus snapshot would exceed 2 GB");
+        }
+        return (int) size;
+    }
+
+    /**
+     * String table, rows and int pool of a snapshot, built in memory before writing.
+     */
+    private static final class Layout {
+
+        private static final int ROW_INTS = 12;
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final int[] rows;
+        private int[] pool = new int[1024];
+        private int poolSize;
+
+        Layout(List<CorpusEntry> entries) {
+            rows = new int[entries.size() * ROW_INTS];
+            for (int row = 0; row < entries.size(); row++) {
+                JobStore.StoredPosting stored = entries.get(row).stored();
+                JobIndex.Tokens tokens = entries.get(row).tokens();
+                JobPosting posting = stored.posting();
+                int base = row * ROW_INTS;
+                rows[base] = intern(stored.provider());
+                rows[base + 1] = intern(posting.id());
+                rows[base + 2] = intern(posting.title());
+                rows[base + 3] = intern(posting.company());
+                rows[base + 4] = intern(posting.location());
+                rows[base + 5] = intern(posting.description());
+                rows[base + 6] = intern(posting.applyUrl());
+                rows[base + 7] = poolSize;
+                rows[base + 8] = posting.sources().size();
+                appendAll(posting.sources());
+                rows[base + 9] = poolSize;
+                rows[base + 10] = tokens.title().size();
+                rows[base + 11] = tokens.description().size();
+                appendAll(tokens.title());
+                appendAll(tokens.description());
+            }
+        }
+
+        private void appendAll(List<String> values) {
+            if (poolSize + values.size() > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + values.size()));
+            }
+            for (String value : values) {
+                pool[poolSize++] = intern(value);
+            }
+        }
+
+        private int intern(String value) {
+            if (value == null) {
+                return NULL_ID;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = strings.size();
+                ids.put(value, id);
+                strings.add(value);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.logging.RequestContext;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.provider.FeedJobProvider;
+import com.jobhunter.service.provider.JobProvider;
+import com.jobhunter.service.metrics.ProviderMetrics;
+import com.jobhunter.service.provider.NormalizingJobProvider;
+import com.jobhunter.service.resilience.ProviderResilience;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically pulls every {@link JobProvider} into the {@link JobStore}.
+ *
+ * Each provider runs on its own schedule ({@code job.provider.<name>.ingest.interval_seconds},
+ * falling back to {@code job.ingest.interval_seconds}). A failed run is retried with exponential
+ * backoff, starting at {@code job.ingest.initial_backoff_seconds} and capped at
+ * {@code job.ingest.max_backoff_seconds}. Feed providers are pulled whole; keyword-driven
+ * providers are queried once per entry of {@code job.ingest.queries}, and their run only fails
+ * when every query does: a query that fails is logged and skipped, and the postings the others
+ * returned are stored.
+ *
+ * Providers are called through the same metrics and circuit breaker wrappers as searches (the
+ * instance registered under the provider's name), so an upstream failing during ingestion opens
+ * the breaker searches see, and its calls show up in the same meters. The provider cache is left
+ * out: ingestion always wants the upstream's current answer.
+ */
+@Component
+public class IngestionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionScheduler.class);
+
+    private final List<JobProvider> providers;
+    private final JobStore store;
+    private final Environment environment;
+    private final boolean enabled;
+    private final List<String> queries;
+    private final Duration defaultInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, IngestionStats> stats = new LinkedHashMap<>();
+
+    public IngestionScheduler(List<JobProvider> providers,
+                              ProviderMetrics providerMetrics,
+                              ProviderResilience providerResilience,
+                              JobStore store,
+                              Environment environment,
+                              @Value("${job.ingest.enabled:true}") boolean enabled,
+                              @Value("${job.ingest.queries:java,python,javascript}") List<String> queries,
+                              @Value("${job.ingest.interval_seconds:900}") long intervalSeconds,
+                              @Value("${job.ingest.initial_backoff_seconds:30}") long initialBackoffSeconds,
+                              @Value("${job.ingest.max_backoff_seconds:1800}") long maxBackoffSeconds,
+                              @Value("${job.ingest.retention_hours:48}") long retentionHours,
+                              @Value("${job.ingest.threads:3}") int threads) {
+        this.providers = providers.stream()
+                .map(providerMetrics::wrap)
+                .map(NormalizingJobProvider::wrap)
+                .map(providerResilience::wrap)
+                .collect(Collectors.toList());
+        this.store = store;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.queries = queries.stream().map(String::trim).filter(q -> !q.isEmpty()).collect(Collectors.toList());
+        this.defaultInterval = Duration.ofSeconds(intervalSeconds);
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "job-ingest-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.providers.forEach(provider -> stats.put(provider.name(), new IngestionStats(provider.name())));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Job ingestion disabled; searches will call providers directly.");
+            return;
+        }
+        for (JobProvider provider : providers) {
+            schedule(provider, Duration.ZERO);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public List<ProviderIngestionStatus> status() {
+        return stats.values().stream()
+                .map(IngestionStats::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    private void schedule(JobProvider provider, Duration delay) {
+        stats.get(provider.name()).scheduledAt(Instant.now().plus(delay));
+        scheduler.schedule(() -> RequestContext.withProvider(provider.name(), () -> {
+            ingest(provider);
+            return null;
+        }), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void ingest(JobProvider provider) {
+        IngestionStats providerStats = stats.get(provider.name());
+        long start = System.nanoTime();
+        Duration nextDelay;
+
+        try {
+            List<JobPosting> fetched = fetch(provider);
+            List<JobPosting> normalized = normalize(fetched);
+            JobStore.UpsertResult result = store.upsert(provider.name(), normalized);
+            int removed = store.removeNotSeenSince(System.currentTimeMillis() - retention.toMillis());
+
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            providerStats.recordSuccess(fetched.size(), result, durationMs);
+            log.info("Ingested {}: fetched={} inserted={} updated={} expired={} store={} in {}ms",
+                    provider.name(), fetched.size(), result.inserted(), result.updated(), removed,
+                    store.size(), durationMs);
+            nextDelay = intervalFor(provider);
+        } catch (Exception e) {
+            providerStats.recordFailure(e, (System.nanoTime() - start) / 1_000_000);
+            nextDelay = backoff(providerStats.consecutiveFailures());
+            log.error("Ingestion of {} failed: {}; retrying in {}s",
+                    provider.name(), e.getMessage(), nextDelay.toSeconds());
+        }
+
+        if (!scheduler.isShutdown()) {
+            schedule(provider, nextDelay);
+        }
+    }
+
+    private List<JobPosting> fetch(JobProvider provider) {
+        if (provider instanceof FeedJobProvider feed) {
+            return feed.fetchFeed();
+        }
+        List<JobPosting> jobs = new ArrayList<>();
+        RuntimeException failure = null;
+        int failed = 0;
+        for (String query : queries) {
+            try {
+                jobs.addAll(provider.getJobs(query.split("\\s+")));
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Ingestion query '{}' of {} failed: {}", query, provider.name(), e.getMessage());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null && failed == queries.size()) {
+            throw failure;
+        }
+        return jobs;
+    }
+
+    /**
+     * Trims fields, fills in placeholders for missing ones, drops postings that cannot be shown
+     * or linked to, and keeps one posting per id.
+     */
+    private List<JobPosting> normalize(List<JobPosting> jobs) {
+        Map<String, JobPosting> byId = new LinkedHashMap<>();
+        for (JobPosting job : jobs) {
+            String title = clean(job.title());
+            String applyUrl = clean(job.applyUrl());
+            if (title.isEmpty() || applyUrl.isEmpty()) {
+                continue;
+            }
+            String id = clean(job.id());
+            JobPosting normalized = new JobPosting(
+                    id.isEmpty() ? applyUrl : id,
+                    title,
+                    orDefault(clean(job.company()), "Unknown"),
+                    orDefault(clean(job.location()), "Unknown"),
+                    job.description() != null ? job.description() : "",
+                    applyUrl,
+                    List.of(),
+                    job.text()
+            );
+            byId.putIfAbsent(normalized.id(), normalized);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value.isEmpty() ? fallback : value;
+    }
+
+    private Duration intervalFor(JobProvider provider) {
+        Long seconds = environment.getProperty("job.provider." + provider.name() + ".ingest.interval_seconds", Long.class);
+        return seconds != null ? Duration.ofSeconds(seconds) : defaultInterval;
+    }
+
+    private Duration backoff(int consecutiveFailures) {
+        long factor = 1L << Math.min(consecutiveFailures - 1, 20);
+        Duration delay = initialBackoff.multipliedBy(factor);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
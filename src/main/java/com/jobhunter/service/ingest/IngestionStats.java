@@ -0,0 +1,58 @@
+package com.jobhunter.service.ingest;
+
+import java.time.Instant;
+
+/**
+ * Running counters for one provider's ingestion. Written by the provider's scheduled run and
+ * read by the status endpoint, hence the synchronized accessors.
+ */
+class IngestionStats {
+
+    private final String provider;
+    private long runs;
+    private long failures;
+    private int consecutiveFailures;
+    private int lastFetched;
+    private int lastInserted;
+    private int lastUpdated;
+    private long lastDurationMs;
+    private Instant lastSuccessAt;
+    private String lastError;
+    private Instant nextRunAt;
+
+    IngestionStats(String provider) {
+        this.provider = provider;
+    }
+
+    synchronized void recordSuccess(int fetched, JobStore.UpsertResult result, long durationMs) {
+        runs++;
+        consecutiveFailures = 0;
+        lastFetched = fetched;
+        lastInserted = result.inserted();
+        lastUpdated = result.updated();
+        lastDurationMs = durationMs;
+        lastSuccessAt = Instant.now();
+        lastError = null;
+    }
+
+    synchronized void recordFailure(Exception e, long durationMs) {
+        runs++;
+        failures++;
+        consecutiveFailures++;
+        lastDurationMs = durationMs;
+        lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    synchronized void scheduledAt(Instant nextRun) {
+        nextRunAt = nextRun;
+    }
+
+    synchronized ProviderIngestionStatus snapshot() {
+        return new ProviderIngestionStatus(provider, runs, failures, consecutiveFailures, lastFetched, lastInserted,
+                lastUpdated, lastDurationMs, lastSuccessAt, lastError, nextRunAt);
+    }
+}
@@ -0,0 +1,189 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.index.JobIndex;
+import com.jobhunter.service.scoring.CorpusStatistics;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local store of ingested postings, keyed by provider name and provider-side posting id and
+ * tagged with that provider as their source. Searches read from here instead of calling the
+ * upstream APIs. Every change is mirrored into a {@link JobIndex} so that candidate retrieval
+ * does not scan posting text, and into the {@link CorpusStatistics} that scoring weighs skills
+ * by. Postings are held as {@link CompactPosting}s and turned back into {@link JobPosting}s only
+ * when a search returns them. Changes are persisted through {@link CorpusPersistence}, which
+ * restores the store on startup.
+ */
+@Component
+public class JobStore {
+
+    private final Map<String, CompactPosting> postings = new ConcurrentHashMap<>();
+    private final JobIndex index = new JobIndex();
+    private final CorpusPersistence persistence;
+    private final CorpusStatistics statistics;
+
+    public JobStore(CorpusPersistence persistence, CorpusStatistics statistics) {
+        this.persistence = persistence;
+        this.statistics = statistics;
+    }
+
+    @PostConstruct
+    public void restore() {
+        persistence.open(this);
+    }
+
+    @PreDestroy
+    public void close() {
+        persistence.close();
+    }
+
+    /**
+     * Inserts or replaces the given postings of one provider and marks them as seen now.
+     */
+    public UpsertResult upsert(String provider, Collection<JobPosting> jobs) {
+        long now = System.currentTimeMillis();
+        int inserted = 0;
+        int updated = 0;
+        List<StoredPosting> changed = new ArrayList<>();
+        List<String> touched = new ArrayList<>();
+
+        List<String> source = List.of(provider);
+        for (JobPosting untagged : jobs) {
+            JobPosting job = untagged.withSources(source);
+            String key = key(provider, job.id());
+            CompactPosting previous = postings.get(key);
+            if (previous == null) {
+                inserted++;
+                StoredPosting stored = new StoredPosting(provider, job, now, now);
+                postings.put(key, CompactPosting.of(stored));
+                index.add(key, job);
+                statistics.add(key, job.text().descriptionTokens());
+                changed.add(stored);
+            } else if (!previous.sameAs(job)) {
+                updated++;
+                StoredPosting stored = new StoredPosting(provider, job, previous.firstSeenMillis(), now);
+                postings.put(key, CompactPosting.of(stored));
+                index.add(key, job);
+                statistics.add(key, job.text().descriptionTokens());
+                changed.add(stored);
+            } else {
+                postings.put(key, previous.seenAt(now));
+                touched.add(key);
+            }
+        }
+        persistence.recordUpserts(changed, touched, now);
+        return new UpsertResult(inserted, updated, jobs.size() - inserted - updated);
+    }
+
+    /**
+     * Drops postings that no ingestion run has returned since the given time.
+     */
+    public int removeNotSeenSince(long cutoffMillis) {
+        List<String> removed = new ArrayList<>();
+        for (Map.Entry<String, CompactPosting> entry : postings.entrySet()) {
+            if (entry.getValue().lastSeenMillis() < cutoffMillis && postings.remove(entry.getKey(), entry.getValue())) {
+                index.remove(entry.getKey());
+                statistics.remove(entry.getKey());
+                removed.add(entry.getKey());
+            }
+        }
+        persistence.recordRemovals(removed);
+        return removed.size();
+    }
+
+    /**
+     * Postings mentioning the most of the given skills or titles, best overlap first, looked up
+     * in the index. With no terms at all every posting is a candidate.
+     */
+    public List<JobPosting> candidates(Collection<String> terms, int limit) {
+        if (terms.isEmpty()) {
+            List<JobPosting> jobs = all();
+            return jobs.size() > limit ? jobs.subList(0, limit) : jobs;
+        }
+        List<String> keys = index.topByOverlap(terms, limit);
+        List<JobPosting> jobs = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            CompactPosting stored = postings.get(key);
+            if (stored != null) {
+                jobs.add(stored.posting(index.tokens(key)));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Every stored posting. Like {@link #candidates}, each comes with the tokens it is indexed
+     * under, so matching does not tokenize it again.
+     */
+    public List<JobPosting> all() {
+        List<JobPosting> jobs = new ArrayList<>(postings.size());
+        for (Map.Entry<String, CompactPosting> entry : postings.entrySet()) {
+            jobs.add(entry.getValue().posting(index.tokens(entry.getKey())));
+        }
+        return jobs;
+    }
+
+    public boolean isEmpty() {
+        return postings.isEmpty();
+    }
+
+    public int size() {
+        return postings.size();
+    }
+
+    /**
+     * Puts back a posting read from disk. Without tokens the posting is tokenized again.
+     */
+    void restore(StoredPosting stored, JobIndex.Tokens tokens) {
+        String key = key(stored.provider(), stored.posting().id());
+        postings.put(key, CompactPosting.of(stored));
+        if (tokens != null) {
+            index.add(key, tokens);
+            statistics.add(key, tokens.description());
+        } else {
+            index.add(key, stored.posting());
+            statistics.add(key, stored.posting().text().descriptionTokens());
+        }
+    }
+
+    void restoreLastSeen(String key, long lastSeenMillis) {
+        postings.computeIfPresent(key, (k, stored) -> stored.seenAt(lastSeenMillis));
+    }
+
+    void restoreRemoval(String key) {
+        if (postings.remove(key) != null) {
+            index.remove(key);
+            statistics.remove(key);
+        }
+    }
+
+    /**
+     * Every stored posting with its indexed tokens, for writing a snapshot.
+     */
+    List<CorpusEntry> corpusEntries() {
+        List<CorpusEntry> entries = new ArrayList<>(postings.size());
+        for (Map.Entry<String, CompactPosting> entry : postings.entrySet()) {
+            JobIndex.Tokens tokens = index.tokens(entry.getKey());
+            if (tokens != null) {
+                entries.add(new CorpusEntry(entry.getValue().stored(), tokens));
+            }
+        }
+        return entries;
+    }
+
+    private static String key(String provider, String id) {
+        return provider + ":" + id;
+    }
+
+    public record StoredPosting(String provider, JobPosting posting, long firstSeenMillis, long lastSeenMillis) {}
+
+    public record UpsertResult(int inserted, int updated, int unchanged) {}
+}
@@ -0,0 +1,20 @@
+package com.jobhunter.service.ingest;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time view of one provider's ingestion counters.
+ */
+public record ProviderIngestionStatus(
+        String provider,
+        long runs,
+        long failures,
+        int consecutiveFailures,
+        int lastFetched,
+        int lastInserted,
+        int lastUpdated,
+        long lastDurationMs,
+        Instant lastSuccessAt,
+        String lastError,
+        Instant nextRunAt
+) {}
@@ -0,0 +1,37 @@
+package com.jobhunter.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Counts response body bytes received by every WebClient built from the shared builder, as
+ * {@code jobhunter.provider.bytes.received} tagged with the upstream host. Each provider talks to
+ * its own host, so this is the per-provider download volume. Latency per host and status comes
+ * with Spring Boot's {@code http.client.requests}.
+ */
+@Component
+public class HttpTrafficMetrics implements WebClientCustomizer {
+
+    private final MeterRegistry meterRegistry;
+
+    public HttpTrafficMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void customize(WebClient.Builder webClientBuilder) {
+        webClientBuilder.filter((request, next) -> {
+            Counter received = Counter.builder("jobhunter.provider.bytes.received")
+                    .description("Response body bytes received from upstream APIs")
+                    .baseUnit("bytes")
+                    .tag("host", String.valueOf(request.url().getHost()))
+                    .register(meterRegistry);
+            return next.exchange(request).map(response -> response.mutate()
+                    .body(body -> body.doOnNext(buffer -> received.increment(buffer.readableByteCount())))
+                    .build());
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.jobhunter.service.metrics;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.provider.FeedJobProvider;
+import com.jobhunter.service.provider.JobProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records, per provider:
+ * <ul>
+ *   <li>{@code jobhunter.provider.fetch}: latency of each upstream call, tagged with the
+ *       outcome;</li>
+ *   <li>{@code jobhunter.provider.errors}: failed calls, tagged with the exception type;</li>
+ *   <li>{@code jobhunter.provider.jobs}: postings per call, tagged {@code stage=fetched} for what
+ *       the upstream returned and {@code stage=filtered} for what a feed provider kept after
+ *       keyword filtering.</li>
+ * </ul>
+ */
+class MeteredJobProvider implements JobProvider {
+
+    private final JobProvider delegate;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary fetched;
+
+    MeteredJobProvider(JobProvider delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.fetched = jobs(meterRegistry, delegate.name(), "fetched");
+    }
+
+    static MeteredJobProvider of(JobProvider delegate, MeterRegistry meterRegistry) {
+        if (delegate instanceof FeedJobProvider feed) {
+            return new Feed(feed, meterRegistry);
+        }
+        return new MeteredJobProvider(delegate, meterRegistry);
+    }
+
+    @Override
+    public List<JobPosting> getJobs(String... keywords) {
+        return timed(() -> delegate.getJobs(keywords));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    List<JobPosting> timed(Supplier<List<JobPosting>> upstream) {
+        long start = System.nanoTime();
+        try {
+            List<JobPosting> jobs = upstream.get();
+            fetchTimer("success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            fetched.record(jobs.size());
+            return jobs;
+        } catch (RuntimeException | Error e) {
+            fetchTimer("error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder("jobhunter.provider.errors")
+                    .description("Failed upstream calls")
+                    .tag("provider", name())
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private Timer fetchTimer(String outcome) {
+        return Timer.builder("jobhunter.provider.fetch")
+                .description("Latency of upstream calls")
+                .tag("provider", name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary jobs(MeterRegistry meterRegistry, String provider, String stage) {
+        return DistributionSummary.builder("jobhunter.provider.jobs")
+                .description("Postings per call")
+                .tag("provider", provider)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private static final class Feed extends MeteredJobProvider implements FeedJobProvider {
+
+        private final FeedJobProvider feed;
+        private final DistributionSummary filtered;
+
+        Feed(FeedJobProvider feed, MeterRegistry meterRegistry) {
+            super(feed, meterRegistry);
+            this.feed = feed;
+            this.filtered = jobs(meterRegistry, feed.name(), "filtered");
+        }
+
+        @Override
+        public List<JobPosting> fetchFeed() {
+            return timed(feed::fetchFeed);
+        }
+
+        @Override
+        public List<JobPosting> filter(List<JobPosting> jobs, String... keywords) {
+            List<JobPosting> kept = feed.filter(jobs, keywords);
+            filtered.record(kept.size());
+            return kept;
+        }
+
+        @Override
+        public List<JobPosting> getJobs(String... keywords) {
+            return FeedJobProvider.super.getJobs(keywords);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.jobhunter.service.metrics;
+
+import com.jobhunter.service.provider.JobProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps job providers so that every upstream call is measured (see {@link MeteredJobProvider}).
+ * Applied innermost, directly around the provider, so cached answers and short-circuited calls
+ * are not counted as fetches. There is one wrapper per provider name, shared by searches and
+ * ingestion.
+ */
+@Component
+public class ProviderMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MeteredJobProvider> metered = new ConcurrentHashMap<>();
+
+    public ProviderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public JobProvider wrap(JobProvider provider) {
+        return metered.computeIfAbsent(provider.name(), name -> MeteredJobProvider.of(provider, meterRegistry));
+    }
+}
@@ -2,9 +2,12 @@ package com.jobhunter.service.provider;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.jobhunter.model.JobPosting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.Collections;
 import java.util.List;
@@ -13,11 +16,16 @@ import java.util.stream.Collectors;
 @Component
 public class AdzunaJobProvider implements JobProvider {
 
+    private static final Logger log = LoggerFactory.getLogger(AdzunaJobProvider.class);
+
     private final WebClient webClient;
     private final String appId;
     private final String appKey;
+    private final Paginator paginator;
+    private final Paginator.PageSettings pages;
 
     public AdzunaJobProvider(WebClient.Builder webClientBuilder,
+                             Paginator paginator,
                              @Value("${job.provider.adzuna.url}") String apiUrl,
                              @Value("${job.provider.adzuna.app_id}") String appId,
                              @Value("${job.provider.adzuna.app_key}") String appKey) {
@@ -28,12 +36,21 @@ public class AdzunaJobProvider implements JobProvider {
 
         this.appId = appId;
         this.appKey = appKey;
+        this.paginator = paginator;
+        this.pages = paginator.settingsFor(name());
+        if (!hasCredentials()) {
+            log.warn("Adzuna API credentials not configured; Adzuna job search is skipped.");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "adzuna";
     }
 
     @Override
     public List<JobPosting> getJobs(String... keywords) {
-        if (appId == null || appId.isBlank() || appKey == null || appKey.isBlank()) {
-            System.err.println("WARN: Adzuna API credentials not configured. Skipping Adzuna job search.");
+        if (!hasCredentials()) {
             return Collections.emptyList();
         }
 
@@ -42,34 +59,33 @@ public class AdzunaJobProvider implements JobProvider {
                 : String.join(" ", keywords).trim();
 
         if (keywordParam.isEmpty()) {
-            System.err.println("WARN: No keywords provided for Adzuna job search. Skipping Adzuna.");
+            log.debug("No keywords provided for Adzuna job search, skipping it.");
             return Collections.emptyList();
         }
 
-        try {
-            AdzunaApiResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/search/1") // /search/{page}
-                            .queryParam("app_id", appId)
-                            .queryParam("app_key", appKey)
-                            .queryParam("results_per_page", 10)
-                            .queryParam("what", keywordParam)
-                            .build())
-                    .retrieve()
-                    .bodyToMono(AdzunaApiResponse.class)
-                    .block();
-
-            if (response != null && response.results() != null) {
-                return response.results().stream()
-                        .map(this::toJobPosting)
-                        .collect(Collectors.toList());
-            }
-
-        } catch (Exception e) {
-            System.err.println("ERROR: Failed to fetch jobs from Adzuna API: " + e.getMessage());
-        }
+        return paginator.fetch(pages, keywords, page -> fetchPage(keywordParam, page));
+    }
+
+    private boolean hasCredentials() {
+        return appId != null && !appId.isBlank() && appKey != null && !appKey.isBlank();
+    }
 
-        return Collections.emptyList();
+    private Mono<List<JobPosting>> fetchPage(String keywordParam, int page) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/search/{page}")
+                        .queryParam("app_id", appId)
+                        .queryParam("app_key", appKey)
+                        .queryParam("results_per_page", pages.pageSize())
+                        .queryParam("what", keywordParam)
+                        .build(page))
+                .retrieve()
+                .bodyToMono(AdzunaApiResponse.class)
+                .map(response -> response.results() == null
+                        ? Collections.<JobPosting>emptyList()
+                        : response.results().stream()
+                                .map(this::toJobPosting)
+                                .collect(Collectors.toList()));
     }
 
     private JobPosting toJobPosting(AdzunaJob raw) {
@@ -2,79 +2,113 @@ package com.jobhunter.service.provider;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.PostingText;
+import com.jobhunter.text.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
-public class ArbeitnowJobProvider implements JobProvider {
+public class ArbeitnowJobProvider implements FeedJobProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(ArbeitnowJobProvider.class);
+
+    private static final int MAX_JOBS = 100;
 
     private final WebClient webClient;
+    private final Paginator paginator;
+    private final Paginator.PageSettings pages;
+    // one conditional fetch per feed page, so each unchanged page comes back as a 304
+    private final Map<Integer, ConditionalFetch<List<JobPosting>>> feedPages = new ConcurrentHashMap<>();
 
     public ArbeitnowJobProvider(WebClient.Builder webClientBuilder,
+                                Paginator paginator,
                                 @Value("${job.provider.arbeitnow.url}") String apiUrl) {
+        // the "data" array is decoded element by element (see JsonArrayStream), so no large
+        // in-memory buffer is needed
         this.webClient = webClientBuilder
                 .baseUrl(apiUrl)
-                // increase buffer so large JSON doesn't blow up with DataBufferLimitException
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024)) // 1MB
                 .build();
+        this.paginator = paginator;
+        this.pages = paginator.settingsFor(name());
     }
 
     @Override
-    public List<JobPosting> getJobs(String... keywords) {
-        try {
-            ArbeitnowApiResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/api/job-board-api")
-                            .queryParam("page", 1)   // first page
-                            .build())
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(ArbeitnowApiResponse.class)
-                    .block();
-
-            if (response == null || response.data() == null) {
-                System.err.println("WARN: Arbeitnow response or data list was null.");
-                return Collections.emptyList();
-            }
+    public String name() {
+        return "arbeitnow";
+    }
 
-            List<JobPosting> jobs = response.data().stream()
-                    .map(this::toJobPosting)
-                    // optional: avoid returning too many jobs at once
-                    .limit(100)
-                    .collect(Collectors.toList());
+    @Override
+    public List<JobPosting> fetchFeed() {
+        List<JobPosting> jobs = paginator.fetch(pages, null, this::fetchPage);
+        if (jobs.isEmpty()) {
+            log.warn("Arbeitnow response or data list was empty.");
+        }
+        return jobs;
+    }
 
-            // If no keywords, just return the mapped list
-            if (keywords == null || keywords.length == 0) {
-                return jobs;
-            }
+    private Mono<List<JobPosting>> fetchPage(int page) {
+        ConditionalFetch<List<JobPosting>> feed =
+                feedPages.computeIfAbsent(page, p -> new ConditionalFetch<>("Arbeitnow feed page " + p));
+        // ConditionalFetch blocks, so pages fetched concurrently each get their own thread
+        return Mono.fromCallable(() -> feed.fetch(feedRequest(page), this::decode))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 
-            String[] loweredKeywords = normalizeKeywords(keywords);
-            if (loweredKeywords.length == 0) {
-                return jobs;
-            }
+    private WebClient.RequestHeadersSpec<?> feedRequest(int page) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/job-board-api")
+                        .queryParam("page", page)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON);
+    }
 
-            // Filter in-memory by title / company / location / description
-            return jobs.stream()
-                    .filter(job -> matchesKeywords(job, loweredKeywords))
+    private List<JobPosting> decode(Flux<DataBuffer> body) {
+        try (Stream<ArbeitnowJob> jobs = JsonArrayStream.elements(body, "data", ArbeitnowJob.class)) {
+            return jobs
+                    .map(this::toJobPosting)
+                    // a page is never larger than this; the rest of an oversized body is never read
+                    .limit(MAX_JOBS)
                     .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public List<JobPosting> filter(List<JobPosting> jobs, String... keywords) {
+        // If no keywords, just return the mapped list
+        if (keywords == null || keywords.length == 0) {
+            return jobs;
+        }
 
-        } catch (Exception e) {
-            System.err.println("ERROR: Failed to fetch jobs from Arbeitnow API: " + e.getMessage());
-            return Collections.emptyList();
+        String[] loweredKeywords = normalizeKeywords(keywords);
+        if (loweredKeywords.length == 0) {
+            return jobs;
         }
+
+        // Filter in-memory by title / company / location / description
+        return jobs.stream()
+                .filter(job -> matchesKeywords(job, loweredKeywords))
+                .collect(Collectors.toList());
     }
 
     private String[] normalizeKeywords(String... keywords) {
         return Arrays.stream(keywords)
-                .map(k -> k == null ? "" : k.toLowerCase(Locale.ROOT).trim())
+                .map(k -> k == null ? "" : TextNormalizer.fold(k))
                 .filter(k -> !k.isEmpty())
                 .toArray(String[]::new);
     }
@@ -84,14 +118,11 @@ public class ArbeitnowJobProvider implements JobProvider {
             return true;
         }
 
-        String haystack = (job.title() + " " +
-                job.company() + " " +
-                job.location() + " " +
-                job.description())
-                .toLowerCase(Locale.ROOT);
+        PostingText text = job.text();
+        String companyAndLocation = TextNormalizer.fold(job.company() + " " + job.location());
 
         for (String kw : loweredKeywords) {
-            if (haystack.contains(kw)) {
+            if (text.title().contains(kw) || text.description().contains(kw) || companyAndLocation.contains(kw)) {
                 return true;
             }
         }
@@ -118,11 +149,6 @@ public class ArbeitnowJobProvider implements JobProvider {
 
     // === DTO records for Arbeitnow ===
 
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private record ArbeitnowApiResponse(
-            List<ArbeitnowJob> data
-    ) {}
-
     @JsonIgnoreProperties(ignoreUnknown = true)
     private record ArbeitnowJob(
             String slug,
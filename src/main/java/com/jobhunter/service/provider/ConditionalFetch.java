@@ -0,0 +1,94 @@
+package com.jobhunter.service.provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Conditional GET of one upstream resource, remembering the last decoded result.
+ *
+ * The {@code ETag} and {@code Last-Modified} validators of the last successful response are
+ * sent back as {@code If-None-Match} / {@code If-Modified-Since}. On {@code 304 Not Modified}
+ * the previously decoded value is returned without reading or decoding anything; otherwise the
+ * body is decoded and kept together with the new validators. Responses without validators are
+ * not kept. Safe for concurrent use; concurrent refreshes simply both hit the upstream.
+ */
+final class ConditionalFetch<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ConditionalFetch.class);
+
+    private final String resource;
+    private volatile Snapshot<T> last;
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong downloadCount = new AtomicLong();
+
+    ConditionalFetch(String resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Sends the request, conditionally when validators are known, and blocks for the result.
+     *
+     * @param decode turns a 2xx body into the value; it must consume or cancel the body
+     */
+    T fetch(WebClient.RequestHeadersSpec<?> request, Function<Flux<DataBuffer>, T> decode) {
+        Snapshot<T> previous = last;
+        if (previous != null) {
+            request.headers(headers -> {
+                if (previous.etag() != null) {
+                    headers.setIfNoneMatch(previous.etag());
+                }
+                if (previous.lastModified() != null) {
+                    headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+                }
+            });
+        }
+
+        ResponseEntity<Flux<DataBuffer>> response = request.retrieve().toEntityFlux(DataBuffer.class).block();
+        if (response == null) {
+            throw new IllegalStateException("No response for " + resource);
+        }
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            discard(response.getBody());
+            if (previous == null) {
+                throw new IllegalStateException(resource + " answered 304 to an unconditional request");
+            }
+            notModifiedCount.incrementAndGet();
+            log.debug("{} not modified, reusing the previous result.", resource);
+            return previous.value();
+        }
+
+        T value = decode.apply(response.getBody() != null ? response.getBody() : Flux.empty());
+        downloadCount.incrementAndGet();
+        String etag = response.getHeaders().getETag();
+        String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        last = etag != null || lastModified != null ? new Snapshot<>(etag, lastModified, value) : null;
+        return value;
+    }
+
+    long notModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    long downloadCount() {
+        return downloadCount.get();
+    }
+
+    private static void discard(Flux<DataBuffer> body) {
+        if (body != null) {
+            body.subscribe(DataBufferUtils::release, error -> { });
+        }
+    }
+
+    private record Snapshot<T>(String etag, String lastModified, T value) {}
+}
@@ -0,0 +1,29 @@
+package com.jobhunter.service.provider;
+
+import com.jobhunter.model.JobPosting;
+
+import java.util.List;
+
+/**
+ * A provider whose upstream returns the same feed whatever the keywords are (RemoteOK,
+ * Arbeitnow, HN job stories). Fetching and keyword filtering are separate steps so that the
+ * fetched feed can be cached once and filtered in memory for every search.
+ *
+ * The provider wrappers only ever call {@link #fetchFeed} and {@link #filter}, so an
+ * implementation overriding {@link #getJobs} would never be reached through them.
+ */
+public interface FeedJobProvider extends JobProvider {
+
+    /**
+     * Downloads and maps the whole feed. Upstream failures are thrown, not swallowed, so that
+     * callers can tell an empty feed from a failed one.
+     */
+    List<JobPosting> fetchFeed();
+
+    List<JobPosting> filter(List<JobPosting> feed, String... keywords);
+
+    @Override
+    default List<JobPosting> getJobs(String... keywords) {
+        return filter(fetchFeed(), keywords);
+    }
+}
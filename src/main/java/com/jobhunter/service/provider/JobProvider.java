@@ -10,5 +10,17 @@ import java.util.List;
  */
 public interface JobProvider {
 
+    /**
+     * Fetches postings for the given keywords. Upstream failures are thrown rather than
+     * swallowed; {@link com.jobhunter.service.JobService} isolates them per provider.
+     */
     List<JobPosting> getJobs(String... keywords);
-}
\ No newline at end of file
+
+    /**
+     * Short, human-readable name used when reporting on this provider (timeouts, errors).
+     * Providers return the id of their {@code job.provider.<name>} configuration block.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -2,10 +2,13 @@ package com.jobhunter.service.provider;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.jobhunter.model.JobPosting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
 
 import java.util.Collections;
 import java.util.List;
@@ -14,53 +17,64 @@ import java.util.stream.Collectors;
 @Component
 public class JoobleJobProvider implements JobProvider {
 
+    private static final Logger log = LoggerFactory.getLogger(JoobleJobProvider.class);
+
     private final WebClient webClient;
     private final String apiKey;
+    private final Paginator paginator;
+    private final Paginator.PageSettings pages;
 
     public JoobleJobProvider(WebClient.Builder webClientBuilder,
+                             Paginator paginator,
                              @Value("${job.provider.jooble.url}") String apiUrl,
                              @Value("${job.provider.jooble.api_key}") String apiKey) {
         this.webClient = webClientBuilder
                 .baseUrl(apiUrl)
                 .build();
         this.apiKey = apiKey;
+        this.paginator = paginator;
+        this.pages = paginator.settingsFor(name());
+        if (apiKey == null || apiKey.isBlank()) {
+            log.warn("Jooble API key not configured; Jooble job search is skipped.");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "jooble";
     }
 
     @Override
     public List<JobPosting> getJobs(String... keywords) {
         if (apiKey == null || apiKey.isBlank()) {
-            System.err.println("WARN: Jooble API key not configured. Skipping Jooble job search.");
             return Collections.emptyList();
         }
 
-        try {
-            String keywordParam = String.join(" ", keywords);
-
-            // Jooble request body – NOTE: NO key field here
-            JoobleRequest requestBody = new JoobleRequest(
-                    keywordParam,
-                    "India",  // or make this configurable
-                    1,
-                    10
-            );
-
-            JoobleApiResponse response = webClient.post()
-                    .uri("/api/" + apiKey) // IMPORTANT: key in path
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(JoobleApiResponse.class)
-                    .block();
-
-            if (response != null && response.jobs() != null) {
-                return response.jobs().stream()
-                        .map(this::toJobPosting)
-                        .collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            System.err.println("ERROR: Failed to fetch jobs from Jooble API: " + e.getMessage());
-        }
-        return Collections.emptyList();
+        String keywordParam = String.join(" ", keywords);
+
+        return paginator.fetch(pages, keywords, page -> fetchPage(keywordParam, page));
+    }
+
+    private Mono<List<JobPosting>> fetchPage(String keywordParam, int page) {
+        // Jooble request body – NOTE: NO key field here
+        JoobleRequest requestBody = new JoobleRequest(
+                keywordParam,
+                "India",  // or make this configurable
+                page,
+                pages.pageSize()
+        );
+
+        return webClient.post()
+                .uri("/api/" + apiKey) // IMPORTANT: key in path
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(JoobleApiResponse.class)
+                .map(response -> response.jobs() == null
+                        ? Collections.<JobPosting>emptyList()
+                        : response.jobs().stream()
+                                .map(this::toJobPosting)
+                                .collect(Collectors.toList()));
     }
 
     private JobPosting toJobPosting(JoobleJob raw) {
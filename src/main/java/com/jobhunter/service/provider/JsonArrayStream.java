@@ -0,0 +1,182 @@
+package com.jobhunter.service.provider;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes the elements of a JSON array in a response body one at a time, as the bytes arrive.
+ *
+ * Only the element being bound is held in memory, never the whole feed, so memory stays flat
+ * however large the feed grows. The returned stream is lazy: with {@code limit()} or
+ * {@code findFirst()} the rest of the body is never read, and closing the stream (use
+ * try-with-resources) cancels the download. HTTP and parse errors surface as runtime
+ * exceptions from the terminal operation.
+ */
+final class JsonArrayStream {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final int PREFETCH_BUFFERS = 4;
+
+    private JsonArrayStream() {
+    }
+
+    /**
+     * @param arrayField name of the top-level field holding the array, or null when the body is
+     *                   itself an array; a body without that array yields an empty stream
+     */
+    static <T> Stream<T> elements(Flux<DataBuffer> body, String arrayField, Class<T> type) {
+        Stream<DataBuffer> buffers = body
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .toStream(PREFETCH_BUFFERS);
+        DataBufferInputStream input = new DataBufferInputStream(buffers);
+        JsonParser parser;
+        try {
+            parser = MAPPER.getFactory().createParser(input);
+        } catch (IOException e) {
+            input.close();
+            throw new UncheckedIOException(e);
+        }
+        return StreamSupport.stream(new ElementSpliterator<>(parser, arrayField, type), false)
+                .onClose(() -> {
+                    try {
+                        parser.close();
+                    } catch (IOException e) {
+                        // nothing left to read from it anyway
+                    }
+                    input.close();
+                });
+    }
+
+    private static final class ElementSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final JsonParser parser;
+        private final String arrayField;
+        private final Class<T> type;
+        private boolean positioned;
+        private boolean done;
+
+        ElementSpliterator(JsonParser parser, String arrayField, Class<T> type) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.parser = parser;
+            this.arrayField = arrayField;
+            this.type = type;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (done) {
+                return false;
+            }
+            try {
+                if (!positioned) {
+                    positioned = true;
+                    if (!moveToArray()) {
+                        done = true;
+                        return false;
+                    }
+                }
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    done = true;
+                    return false;
+                }
+                T element = MAPPER.readValue(parser, type);
+                if (element != null) {
+                    action.accept(element);
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Advances the parser to just inside the wanted array.
+         */
+        private boolean moveToArray() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (arrayField == null) {
+                return token == JsonToken.START_ARRAY;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (arrayField.equals(field) && value == JsonToken.START_ARRAY) {
+                    return true;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reads the buffers of a body in order, releasing each once consumed. Closing it cancels
+     * the underlying subscription.
+     */
+    private static final class DataBufferInputStream extends InputStream {
+
+        private final Stream<DataBuffer> buffers;
+        private final Iterator<DataBuffer> iterator;
+        private DataBuffer current;
+
+        DataBufferInputStream(Stream<DataBuffer> buffers) {
+            this.buffers = buffers;
+            this.iterator = buffers.iterator();
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            while (current == null || current.readableByteCount() == 0) {
+                releaseCurrent();
+                if (!iterator.hasNext()) {
+                    return -1;
+                }
+                current = iterator.next();
+            }
+            int count = Math.min(length, current.readableByteCount());
+            current.read(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+            releaseCurrent();
+            buffers.close();
+        }
+
+        private void releaseCurrent() {
+            if (current != null) {
+                DataBufferUtils.release(current);
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobhunter.service.provider;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.text.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the title, company, location and description of every posting a provider returns into
+ * plain text (see {@link TextNormalizer#plainText}): several upstreams send HTML descriptions,
+ * and matching against markup finds "go" and "rest" inside tags and attributes. Applied directly
+ * around the provider, before anything caches or stores its answers, so that the cleanup runs
+ * once per fetched posting; the folded and tokenized forms are then cached on the posting itself
+ * ({@link JobPosting#text()}).
+ */
+public class NormalizingJobProvider implements JobProvider {
+
+    private final JobProvider delegate;
+
+    NormalizingJobProvider(JobProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    public static JobProvider wrap(JobProvider delegate) {
+        if (delegate instanceof NormalizingJobProvider) {
+            return delegate;
+        }
+        if (delegate instanceof FeedJobProvider feed) {
+            return new Feed(feed);
+        }
+        return new NormalizingJobProvider(delegate);
+    }
+
+    @Override
+    public List<JobPosting> getJobs(String... keywords) {
+        return normalize(delegate.getJobs(keywords));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    static List<JobPosting> normalize(List<JobPosting> jobs) {
+        List<JobPosting> normalized = new ArrayList<>(jobs.size());
+        for (JobPosting job : jobs) {
+            normalized.add(normalize(job));
+        }
+        return normalized;
+    }
+
+    /**
+     * The posting with plain-text fields; the same instance when there was nothing to change.
+     */
+    static JobPosting normalize(JobPosting job) {
+        String title = TextNormalizer.plainText(job.title());
+        String company = TextNormalizer.plainText(job.company());
+        String location = TextNormalizer.plainText(job.location());
+        String description = TextNormalizer.plainText(job.description());
+        if (title == job.title() && company == job.company() && location == job.location()
+                && description == job.description()) {
+            return job;
+        }
+        return new JobPosting(job.id(), title, company, location, description, job.applyUrl(), job.sources());
+    }
+
+    private static final class Feed extends NormalizingJobProvider implements FeedJobProvider {
+
+        private final FeedJobProvider feed;
+
+        Feed(FeedJobProvider feed) {
+            super(feed);
+            this.feed = feed;
+        }
+
+        @Override
+        public List<JobPosting> fetchFeed() {
+            return normalize(feed.fetchFeed());
+        }
+
+        @Override
+        public List<JobPosting> filter(List<JobPosting> jobs, String... keywords) {
+            return feed.filter(jobs, keywords);
+        }
+
+        @Override
+        public List<JobPosting> getJobs(String... keywords) {
+            return FeedJobProvider.super.getJobs(keywords);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.jobhunter.service.provider;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.text.PhraseMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntFunction;
+
+/**
+ * Walks the result pages of a paginated provider.
+ *
+ * Page 1 is fetched on its own; if it is neither short nor enough, pages 2..max_pages follow
+ * with up to {@code concurrency} requests in flight, consumed in page order. Fetching stops at
+ * the first short page (the upstream has nothing more), at a page that adds no new posting, or
+ * once {@code enough} strong candidates were collected; requests still in flight are then
+ * cancelled. A strong candidate is a posting whose title and description mention at least the
+ * {@code strong_match} fraction of the search keywords, which is what the skill score of
+ * {@link com.jobhunter.service.MatchingService} rewards. Postings are de-duplicated across
+ * pages by id (or apply URL when there is no id).
+ *
+ * Settings come from {@code job.pagination.*} and can be overridden per provider under
+ * {@code job.provider.<name>.pagination.*}, like the cache settings.
+ */
+@Component
+public class Paginator {
+
+    private static final Logger log = LoggerFactory.getLogger(Paginator.class);
+
+    private final Environment environment;
+
+    public Paginator(Environment environment) {
+        this.environment = environment;
+    }
+
+    PageSettings settingsFor(String providerName) {
+        return new PageSettings(
+                providerName,
+                Math.max(1, intProperty(providerName, "max_pages", 3)),
+                Math.max(1, intProperty(providerName, "page_size", 20)),
+                Math.max(1, intProperty(providerName, "concurrency", 3)),
+                Math.max(1, intProperty(providerName, "enough", 30)),
+                doubleProperty(providerName, "strong_match", 0.3));
+    }
+
+    /**
+     * Fetches pages until one of the stop conditions holds and returns the distinct postings in
+     * page order. A failing first page fails the fetch; a later failing page ends it with the
+     * postings collected so far.
+     *
+     * @param loadPage returns the unfiltered postings of a 1-based page, empty past the last one
+     */
+    List<JobPosting> fetch(PageSettings settings, String[] keywords, IntFunction<Mono<List<JobPosting>>> loadPage) {
+        Collector collector = new Collector(settings, keywords);
+        // failures are reported once the fetch is over, from the calling thread and its context
+        Queue<String> failedPages = new ConcurrentLinkedQueue<>();
+        Flux<List<JobPosting>> rest = Flux.range(2, settings.maxPages() - 1)
+                .flatMapSequential(page -> loadPage.apply(page)
+                        .onErrorResume(e -> {
+                            failedPages.add("page " + page + ": " + e.getMessage());
+                            return Mono.just(List.of());
+                        }), settings.concurrency());
+
+        Flux.concat(loadPage.apply(1).defaultIfEmpty(List.of()), rest)
+                .takeUntil(collector::addPageAndCheckDone)
+                .then()
+                .block();
+
+        if (!failedPages.isEmpty()) {
+            log.warn("{} kept the pages before the failed ones: {}", settings.provider(), failedPages);
+        }
+        if (collector.pages > 1) {
+            log.debug("{} fetched {} pages, {} distinct postings ({} strong).",
+                    settings.provider(), collector.pages, collector.jobs.size(), collector.strong);
+        }
+        return collector.jobs;
+    }
+
+    private int intProperty(String providerName, String key, int defaultValue) {
+        Integer global = environment.getProperty("job.pagination." + key, Integer.class, defaultValue);
+        return environment.getProperty("job.provider." + providerName + ".pagination." + key, Integer.class, global);
+    }
+
+    private double doubleProperty(String providerName, String key, double defaultValue) {
+        Double global = environment.getProperty("job.pagination." + key, Double.class, defaultValue);
+        return environment.getProperty("job.provider." + providerName + ".pagination." + key, Double.class, global);
+    }
+
+    /**
+     * Per-page state, touched only from the single {@code takeUntil} callback at a time.
+     */
+    private static final class Collector {
+
+        private final PageSettings settings;
+        private final PhraseMatcher keywords;
+        private final int strongHits;
+        private final Set<String> seen = new HashSet<>();
+        private final List<JobPosting> jobs = new ArrayList<>();
+        private int pages;
+        private int strong;
+
+        Collector(PageSettings settings, String[] keywords) {
+            this.settings = settings;
+            List<String> distinct = keywords == null ? List.of()
+                    : Arrays.stream(keywords).filter(Objects::nonNull).map(String::trim)
+                    .filter(k -> !k.isEmpty()).distinct().toList();
+            this.keywords = PhraseMatcher.compile(distinct);
+            this.strongHits = distinct.isEmpty()
+                    ? Integer.MAX_VALUE
+                    : Math.max(1, (int) Math.ceil(settings.strongMatch() * distinct.size()));
+        }
+
+        boolean addPageAndCheckDone(List<JobPosting> page) {
+            pages++;
+            int added = 0;
+            for (JobPosting job : page) {
+                String key = job.id() != null ? job.id() : job.applyUrl();
+                if (key != null && !seen.add(key)) {
+                    continue;
+                }
+                jobs.add(job);
+                added++;
+                if (isStrong(job)) {
+                    strong++;
+                }
+            }
+            return page.size() < settings.pageSize() || added == 0 || strong >= settings.enough();
+        }
+
+        private boolean isStrong(JobPosting job) {
+            if (strongHits == Integer.MAX_VALUE) {
+                return false;
+            }
+            boolean[] hits = new boolean[keywords.phraseCount()];
+            int found = keywords.findAll(job.text().titleTokens(), hits);
+            found += keywords.findAll(job.text().descriptionTokens(), hits);
+            return found >= strongHits;
+        }
+    }
+
+    /**
+     * @param maxPages    upper bound on pages fetched per search
+     * @param pageSize    postings requested per page; a page with fewer is taken as the last
+     * @param concurrency pages in flight at once after the first
+     * @param enough      strong candidates after which no further page is requested
+     * @param strongMatch fraction of the keywords a posting must mention to count as strong
+     */
+    record PageSettings(String provider, int maxPages, int pageSize, int concurrency, int enough, double strongMatch) {}
+}
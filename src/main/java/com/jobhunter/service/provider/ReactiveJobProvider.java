@@ -0,0 +1,62 @@
+package com.jobhunter.service.provider;
+
+import com.jobhunter.logging.RequestContext;
+import com.jobhunter.model.JobPosting;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Asynchronous variant of {@link JobProvider}. Postings are emitted as soon as they are
+ * available, so callers can merge several providers without parking a thread per provider.
+ *
+ * Existing blocking providers are bridged with {@link #adapt(JobProvider)}.
+ */
+public interface ReactiveJobProvider extends JobProvider {
+
+    Flux<JobPosting> streamJobs(String... keywords);
+
+    @Override
+    default List<JobPosting> getJobs(String... keywords) {
+        return streamJobs(keywords).collectList().block();
+    }
+
+    /**
+     * Returns the provider itself if it is already reactive, otherwise wraps its blocking
+     * {@link JobProvider#getJobs} call so that it runs on the bounded elastic scheduler.
+     */
+    static ReactiveJobProvider adapt(JobProvider provider) {
+        if (provider instanceof ReactiveJobProvider reactive) {
+            return reactive;
+        }
+        return new BlockingJobProviderAdapter(provider);
+    }
+
+    final class BlockingJobProviderAdapter implements ReactiveJobProvider {
+
+        private final JobProvider delegate;
+
+        private BlockingJobProviderAdapter(JobProvider delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Flux<JobPosting> streamJobs(String... keywords) {
+            return Mono.fromCallable(() -> RequestContext.withProvider(name(), () -> delegate.getJobs(keywords)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapIterable(jobs -> jobs);
+        }
+
+        @Override
+        public List<JobPosting> getJobs(String... keywords) {
+            return delegate.getJobs(keywords);
+        }
+
+        @Override
+        public String name() {
+            return delegate.name();
+        }
+    }
+}
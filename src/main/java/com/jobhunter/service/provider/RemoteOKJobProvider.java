@@ -2,93 +2,108 @@ package com.jobhunter.service.provider;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.PostingText;
+import com.jobhunter.text.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
-public class RemoteOKJobProvider implements JobProvider {
+public class RemoteOKJobProvider implements FeedJobProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteOKJobProvider.class);
+
+    private static final int MAX_JOBS = 200;
 
     private final WebClient webClient;
+    private final ConditionalFetch<List<JobPosting>> feed = new ConditionalFetch<>("RemoteOK feed");
 
     public RemoteOKJobProvider(WebClient.Builder webClientBuilder,
                                @Value("${job.provider.remoteok.url}") String apiUrl) {
+        // the feed is decoded element by element (see JsonArrayStream), so no large
+        // in-memory buffer is needed however big it gets
         this.webClient = webClientBuilder
                 .baseUrl(apiUrl)
-                // Increase buffer so the large JSON response doesn't trigger DataBufferLimitException
-                .codecs(configurer -> configurer
-                        .defaultCodecs()
-                        .maxInMemorySize(1024 * 1024))
                 .build();
     }
 
 
     @Override
-    public List<JobPosting> getJobs(String... keywords) {
-        System.out.println("RemoteOK provider: getJobs called with keywords=" + Arrays.toString(keywords));
-
-        try {
-            RemoteOKJob[] response = webClient.get()
-                    .uri("/api")                                 // main API endpoint
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(RemoteOKJob[].class)
-                    .block();
-
-            if (response == null || response.length == 0) {
-                System.err.println("WARN: RemoteOK returned null or empty response.");
-                return Collections.emptyList();
-            }
-
-            // First element is metadata → skip it; also limit to avoid huge lists
-            List<JobPosting> allJobs = Arrays.stream(response)
-                    .skip(1)            // skip metadata object
-                    .limit(200)         // keep at most 200 jobs in memory
-                    .map(this::toJobPosting)
-                    .collect(Collectors.toList());
+    public String name() {
+        return "remoteok";
+    }
 
-            System.out.println("RemoteOK provider: mapped " + allJobs.size() + " jobs.");
+    @Override
+    public List<JobPosting> fetchFeed() {
+        List<JobPosting> allJobs = feed.fetch(feedRequest(), this::decode);
+        if (allJobs.isEmpty()) {
+            log.warn("RemoteOK returned null or empty response.");
+            return Collections.emptyList();
+        }
 
-            String[] loweredKeywords = normalizeKeywords(keywords);
+        log.debug("RemoteOK provider: mapped {} jobs.", allJobs.size());
+        return allJobs;
+    }
 
-            // No keywords? Return all
-            if (loweredKeywords.length == 0) {
-                System.out.println("RemoteOK provider: no keywords, returning all jobs.");
-                return allJobs;
-            }
+    private WebClient.RequestHeadersSpec<?> feedRequest() {
+        return webClient.get()
+                .uri("/api")                                 // main API endpoint
+                .accept(MediaType.APPLICATION_JSON);
+    }
 
-            // Filter matches
-            List<JobPosting> filtered = allJobs.stream()
-                    .filter(job -> matchesKeywords(job, loweredKeywords))
+    private List<JobPosting> decode(Flux<DataBuffer> body) {
+        try (Stream<RemoteOKJob> jobs = JsonArrayStream.elements(body, null, RemoteOKJob.class)) {
+            return jobs
+                    .skip(1)            // first element is metadata → skip it
+                    .map(this::toJobPosting)
+                    .limit(MAX_JOBS)    // stop reading once we have enough
                     .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public List<JobPosting> filter(List<JobPosting> allJobs, String... keywords) {
+        log.debug("RemoteOK provider: filtering with keywords={}", (Object) keywords);
 
-            System.out.println("RemoteOK provider: filtered down to " + filtered.size() + " jobs.");
+        String[] loweredKeywords = normalizeKeywords(keywords);
 
-            // If filtering finds nothing, fall back to all jobs
-            if (filtered.isEmpty()) {
-                System.out.println("RemoteOK provider: no jobs matched keywords, returning all jobs.");
-                return allJobs;
-            }
+        // No keywords? Return all
+        if (loweredKeywords.length == 0) {
+            log.debug("RemoteOK provider: no keywords, returning all jobs.");
+            return allJobs;
+        }
 
-            return filtered;
+        // Filter matches
+        List<JobPosting> filtered = allJobs.stream()
+                .filter(job -> matchesKeywords(job, loweredKeywords))
+                .collect(Collectors.toList());
 
-        } catch (Exception e) {
-            System.err.println("ERROR: Failed to fetch jobs from RemoteOK API: " + e.getMessage());
-            return Collections.emptyList();
+        log.debug("RemoteOK provider: filtered down to {} jobs.", filtered.size());
+
+        // If filtering finds nothing, fall back to all jobs
+        if (filtered.isEmpty()) {
+            log.debug("RemoteOK provider: no jobs matched keywords, returning all jobs.");
+            return allJobs;
         }
+
+        return filtered;
     }
 
     private String[] normalizeKeywords(String... keywords) {
         return Arrays.stream(keywords == null ? new String[0] : keywords)
                 .filter(k -> k != null && !k.isBlank())
-                .map(k -> k.toLowerCase(Locale.ROOT).trim())
+                .map(k -> TextNormalizer.fold(k))
                 .toArray(String[]::new);
     }
 
@@ -97,13 +112,11 @@ public class RemoteOKJobProvider implements JobProvider {
             return true;
         }
 
-        String haystack = (job.title() + " " +
-                job.company() + " " +
-                job.description())
-                .toLowerCase(Locale.ROOT);
+        PostingText text = job.text();
+        String company = job.company() == null ? "" : TextNormalizer.fold(job.company());
 
         for (String kw : loweredKeywords) {
-            if (haystack.contains(kw)) return true;
+            if (text.title().contains(kw) || text.description().contains(kw) || company.contains(kw)) return true;
         }
         return false;
     }
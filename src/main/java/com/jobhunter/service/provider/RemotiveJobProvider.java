@@ -2,6 +2,8 @@ package com.jobhunter.service.provider;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.jobhunter.model.JobPosting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -14,46 +16,52 @@ import java.util.stream.Collectors;
 @Component
 public class RemotiveJobProvider implements JobProvider {
 
+    private static final Logger log = LoggerFactory.getLogger(RemotiveJobProvider.class);
+
     private final WebClient webClient;
+    private final Paginator.PageSettings pages;
 
     public RemotiveJobProvider(WebClient.Builder webClientBuilder,
+                               Paginator paginator,
                                @Value("${job.provider.remotive.url}") String apiUrl) {
         this.webClient = webClientBuilder
                 .baseUrl(apiUrl)
                 .build();
+        this.pages = paginator.settingsFor(name());
     }
 
     @Override
-    public List<JobPosting> getJobs(String... keywords) {
-        try {
-            String keywordParam = (keywords == null || keywords.length == 0)
-                    ? ""
-                    : String.join(" ", keywords).trim();
+    public String name() {
+        return "remotive";
+    }
 
-            if (keywordParam.isEmpty()) {
-                System.err.println("WARN: No keywords provided for Remotive job search. Skipping Remotive.");
-                return Collections.emptyList();
-            }
+    @Override
+    public List<JobPosting> getJobs(String... keywords) {
+        String keywordParam = (keywords == null || keywords.length == 0)
+                ? ""
+                : String.join(" ", keywords).trim();
 
-            RemotiveApiResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/remote-jobs")
-                            .queryParam("search", keywordParam)
-                            .queryParam("limit", 10)            // align with Jooble's "10" rows
-                            .build())
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(RemotiveApiResponse.class)
-                    .block();
+        if (keywordParam.isEmpty()) {
+            log.debug("No keywords provided for Remotive job search, skipping it.");
+            return Collections.emptyList();
+        }
 
-            if (response != null && response.jobs() != null) {
-                return response.jobs().stream()
-                        .map(this::toJobPosting)
-                        .collect(Collectors.toList());
-            }
+        RemotiveApiResponse response = webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/remote-jobs")
+                        .queryParam("search", keywordParam)
+                        // the API has no page parameter, so the page budget becomes one limit
+                        .queryParam("limit", pages.maxPages() * pages.pageSize())
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(RemotiveApiResponse.class)
+                .block();
 
-        } catch (Exception e) {
-            System.err.println("ERROR: Failed to fetch jobs from Remotive API: " + e.getMessage());
+        if (response != null && response.jobs() != null) {
+            return response.jobs().stream()
+                    .map(this::toJobPosting)
+                    .collect(Collectors.toList());
         }
 
         return Collections.emptyList();
@@ -1,104 +1,153 @@
 package com.jobhunter.service.provider;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.jobhunter.logging.RateLimitedLogger;
 import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.PostingText;
+import com.jobhunter.text.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
-public class YCombinatorJobProvider implements JobProvider {
+public class YCombinatorJobProvider implements FeedJobProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(YCombinatorJobProvider.class);
 
     private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
     private final int maxJobs;
+    private final int concurrency;
+    private final Duration itemTimeout;
+    private final ConditionalFetch<List<Long>> jobStories = new ConditionalFetch<>("HN jobstories");
+    private final Map<Long, HnItem> items = new ConcurrentHashMap<>();
+    private final RateLimitedLogger warnings = new RateLimitedLogger(log, Duration.ofMinutes(1));
 
     public YCombinatorJobProvider(WebClient.Builder webClientBuilder,
                                   @Value("${job.provider.yc.url}") String apiUrl,
-                                  @Value("${job.provider.yc.max_jobs:100}") int maxJobs) {
+                                  @Value("${job.provider.yc.max_jobs:100}") int maxJobs,
+                                  @Value("${job.provider.yc.concurrency:16}") int concurrency,
+                                  @Value("${job.provider.yc.item_timeout_ms:3000}") long itemTimeoutMs) {
+        // One item request per connection at a time, so size the pool to the fetch concurrency
+        // and keep connections alive between the item calls of a batch (and between batches).
+        this.connectionProvider = ConnectionProvider.builder("hn-items")
+                .maxConnections(concurrency)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
         this.webClient = webClientBuilder
                 .baseUrl(apiUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
                 .build();
         this.maxJobs = maxJobs;
+        this.concurrency = concurrency;
+        this.itemTimeout = Duration.ofMillis(itemTimeoutMs);
     }
 
-    @Override
-    public List<JobPosting> getJobs(String... keywords) {
-        System.out.println("YC provider: getJobs called with keywords=" + Arrays.toString(keywords));
-
-        try {
-            // 1) Fetch job story IDs as array
-            Long[] jobIdsArray = webClient.get()
-                    .uri("/jobstories.json")
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(Long[].class)
-                    .block();
-
-            if (jobIdsArray == null || jobIdsArray.length == 0) {
-                System.err.println("WARN: YC/HN jobstories list was null or empty.");
-                return Collections.emptyList();
-            }
-
-            System.out.println("YC provider: fetched " + jobIdsArray.length + " job IDs.");
-
-            List<Long> jobIds = Arrays.asList(jobIdsArray);
-
-            // 2) Limit how many we fetch
-            List<Long> limitedIds = jobIds.stream()
-                    .limit(maxJobs)
-                    .collect(Collectors.toList());
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
 
-            // 3) Fetch ALL jobs first
-            List<JobPosting> allJobs = limitedIds.stream()
-                    .map(this::fetchItem)                                      // HN item
-                    .filter(item -> item != null && "job".equalsIgnoreCase(item.type()))
-                    .map(this::toJobPosting)                                   // -> JobPosting
-                    .collect(Collectors.toList());
+    @Override
+    public String name() {
+        return "yc";
+    }
 
-            System.out.println("YC provider: mapped " + allJobs.size() + " jobs before filtering.");
+    @Override
+    public List<JobPosting> fetchFeed() {
+        // 1) Fetch job story IDs (conditionally: an unchanged list comes back as a 304)
+        List<Long> jobIds = jobStories.fetch(
+                webClient.get()
+                        .uri("/jobstories.json")
+                        .accept(MediaType.APPLICATION_JSON),
+                body -> {
+                    try (Stream<Long> ids = JsonArrayStream.elements(body, null, Long.class)) {
+                        return ids.collect(Collectors.toList());
+                    }
+                });
+
+        if (jobIds.isEmpty()) {
+            log.warn("YC/HN jobstories list was null or empty.");
+            return Collections.emptyList();
+        }
 
-            // 4) Normalize keywords
-            String[] loweredKeywords = normalizeKeywords(keywords);
+        log.debug("YC provider: fetched {} job IDs.", jobIds.size());
+
+        // 2) Limit how many we fetch
+        List<Long> limitedIds = jobIds.stream()
+                .limit(maxJobs)
+                .collect(Collectors.toList());
+
+        // Items that dropped off the list will not be asked for again
+        items.keySet().retainAll(limitedIds);
+
+        // 3) Fetch ALL jobs first, up to `concurrency` items in flight; slow items are dropped
+        ItemFailures failures = new ItemFailures();
+        List<JobPosting> allJobs = Flux.fromIterable(limitedIds)
+                .flatMapSequential(id -> fetchItem(id, failures), concurrency)   // HN item
+                .filter(item -> "job".equalsIgnoreCase(item.type()))
+                .map(this::toJobPosting)                                          // -> JobPosting
+                .collectList()
+                .block();
+
+        if (failures.total() > 0) {
+            warnings.warn("items", "YC provider: skipped {} of {} HN items ({} timed out after {}ms, "
+                            + "{} HTTP errors, {} empty, {} other failures); last: {}",
+                    failures.total(), limitedIds.size(), failures.timeouts, itemTimeout.toMillis(),
+                    failures.httpErrors, failures.empty, failures.other, failures.last);
+        }
+        log.debug("YC provider: mapped {} jobs before filtering.", allJobs.size());
+        return allJobs;
+    }
 
-            // If there is no "context" (no keywords) -> list all jobs
-            if (loweredKeywords.length == 0) {
-                System.out.println("YC provider: no keywords provided, returning all jobs.");
-                return allJobs;
-            }
+    @Override
+    public List<JobPosting> filter(List<JobPosting> allJobs, String... keywords) {
+        log.debug("YC provider: filtering with keywords={}", (Object) keywords);
 
-            // 5) Filter by keywords
-            List<JobPosting> filtered = allJobs.stream()
-                    .filter(job -> matchesKeywords(job, loweredKeywords))
-                    .collect(Collectors.toList());
+        // 4) Normalize keywords
+        String[] loweredKeywords = normalizeKeywords(keywords);
 
-            System.out.println("YC provider: filtered down to " + filtered.size() + " jobs.");
+        // If there is no "context" (no keywords) -> list all jobs
+        if (loweredKeywords.length == 0) {
+            log.debug("YC provider: no keywords provided, returning all jobs.");
+            return allJobs;
+        }
 
-            // 6) If filtering killed everything, fall back to all jobs
-            if (filtered.isEmpty()) {
-                System.out.println("YC provider: no jobs matched keywords, falling back to all jobs.");
-                return allJobs;
-            }
+        // 5) Filter by keywords
+        List<JobPosting> filtered = allJobs.stream()
+                .filter(job -> matchesKeywords(job, loweredKeywords))
+                .collect(Collectors.toList());
 
-            return filtered;
+        log.debug("YC provider: filtered down to {} jobs.", filtered.size());
 
-        } catch (WebClientResponseException e) {
-            System.err.println("ERROR: YC/HN HTTP error " + e.getRawStatusCode() +
-                    " when calling " + e.getRequest().getURI() +
-                    " body=" + e.getResponseBodyAsString());
-            return Collections.emptyList();
-        } catch (Exception e) {
-            System.err.println("ERROR: Failed to fetch jobs from YC/HackerNews API: " + e.getMessage());
-            e.printStackTrace();
-            return Collections.emptyList();
+        // 6) If filtering killed everything, fall back to all jobs
+        if (filtered.isEmpty()) {
+            log.debug("YC provider: no jobs matched keywords, falling back to all jobs.");
+            return allJobs;
         }
+
+        return filtered;
     }
 
     private String[] normalizeKeywords(String... keywords) {
@@ -107,7 +156,7 @@ public class YCombinatorJobProvider implements JobProvider {
         }
 
         return Arrays.stream(keywords)
-                .map(k -> k == null ? "" : k.toLowerCase(Locale.ROOT).trim())
+                .map(k -> k == null ? "" : TextNormalizer.fold(k))
                 .filter(k -> !k.isEmpty())
                 .toArray(String[]::new);
     }
@@ -117,40 +166,68 @@ public class YCombinatorJobProvider implements JobProvider {
             return true; // No keywords -> accept all
         }
 
-        String haystack = (job.title() + " " + job.description())
-                .toLowerCase(Locale.ROOT);
-
+        PostingText text = job.text();
         for (String kw : loweredKeywords) {
-            if (haystack.contains(kw)) {
+            if (text.title().contains(kw) || text.description().contains(kw)) {
                 return true;
             }
         }
         return false;
     }
 
-    private HnItem fetchItem(Long id) {
-        try {
-            HnItem item = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/item/{id}.json")
-                            .build(id))
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(HnItem.class)
-                    .block();
-
-            if (item == null) {
-                System.err.println("WARN: HN item id=" + id + " returned null.");
-            }
+    /**
+     * HN items do not change once posted, so each is downloaded once and then served from
+     * {@link #items} for as long as it stays on the job stories list. Failed or slow items are
+     * not cached and are retried on the next run; they are counted in {@code failures} rather
+     * than logged one by one.
+     */
+    private Mono<HnItem> fetchItem(Long id, ItemFailures failures) {
+        HnItem cached = items.get(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/item/{id}.json")
+                        .build(id))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(HnItem.class)
+                .timeout(itemTimeout)
+                .doOnNext(item -> items.put(id, item))
+                .switchIfEmpty(Mono.fromRunnable(() -> failures.record(failures.empty, id, "returned null")))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    failures.record(failures.httpErrors, id, "HTTP " + e.getRawStatusCode());
+                    return Mono.empty();
+                })
+                .onErrorResume(TimeoutException.class, e -> {
+                    failures.record(failures.timeouts, id, "timed out");
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    failures.record(failures.other, id, String.valueOf(e.getMessage()));
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Items skipped during one fetch, updated from the HTTP client threads.
+     */
+    private static final class ItemFailures {
+
+        private final AtomicInteger empty = new AtomicInteger();
+        private final AtomicInteger httpErrors = new AtomicInteger();
+        private final AtomicInteger timeouts = new AtomicInteger();
+        private final AtomicInteger other = new AtomicInteger();
+        private volatile String last;
+
+        void record(AtomicInteger counter, Long id, String reason) {
+            counter.incrementAndGet();
+            last = "item " + id + " " + reason;
+        }
 
-            return item;
-        } catch (WebClientResponseException e) {
-            System.err.println("WARN: HN HTTP error " + e.getRawStatusCode() +
-                    " for item id=" + id + " body=" + e.getResponseBodyAsString());
-            return null;
-        } catch (Exception e) {
-            System.err.println("WARN: Failed to fetch HN item id=" + id + ": " + e.getMessage());
-            return null;
+        int total() {
+            return empty.get() + httpErrors.get() + timeouts.get() + other.get();
         }
     }
 
@@ -0,0 +1,51 @@
+package com.jobhunter.service.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Call timeout that follows the observed latency of one provider: {@code timeout_multiplier}
+ * times the p99 of the last {@code latency_window} successful calls, kept between
+ * {@code min_timeout_ms} and {@code max_timeout_ms}. Until {@code minimum_calls} latencies are
+ * known the maximum applies.
+ */
+final class AdaptiveTimeout {
+
+    private final ResilienceSettings settings;
+    private final long[] latencies;
+    private int count;
+    private int next;
+
+    AdaptiveTimeout(ResilienceSettings settings) {
+        this.settings = settings;
+        this.latencies = new long[settings.latencyWindow()];
+    }
+
+    synchronized void record(long latencyMillis) {
+        latencies[next] = latencyMillis;
+        next = (next + 1) % latencies.length;
+        if (count < latencies.length) {
+            count++;
+        }
+    }
+
+    synchronized long timeoutMillis() {
+        long max = settings.maxTimeout().toMillis();
+        if (count < settings.minimumCalls()) {
+            return max;
+        }
+        long adaptive = (long) Math.ceil(p99Millis() * settings.timeoutMultiplier());
+        return Math.max(settings.minTimeout().toMillis(), Math.min(max, adaptive));
+    }
+
+    /**
+     * p99 of the recorded latencies, or -1 when none were recorded yet.
+     */
+    synchronized long p99Millis() {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)];
+    }
+}
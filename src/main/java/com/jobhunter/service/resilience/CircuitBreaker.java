@@ -0,0 +1,135 @@
+package com.jobhunter.service.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker for one provider.
+ *
+ * CLOSED: calls go through and their outcomes fill a sliding window of the last
+ * {@code window_size} calls. Once the window holds at least {@code minimum_calls} outcomes and the
+ * failure rate reaches {@code failure_rate_threshold}, the breaker opens.
+ * OPEN: calls are rejected without touching the upstream until {@code open_seconds} have passed.
+ * HALF_OPEN: up to {@code half_open_calls} trial calls are let through; if they all succeed the
+ * breaker closes with an empty window, the first failure opens it again.
+ *
+ * Outcomes of calls admitted in an earlier state (a slow call finishing after the breaker moved
+ * on) are ignored.
+ */
+final class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String provider;
+    private final ResilienceSettings settings;
+    private final boolean[] window;
+    private int windowSize;
+    private int windowNext;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long stateSinceMillis = System.currentTimeMillis();
+    private int trialsInFlight;
+    private int trialsSucceeded;
+    private long rejectedCalls;
+
+    CircuitBreaker(String provider, ResilienceSettings settings) {
+        this.provider = provider;
+        this.settings = settings;
+        this.window = new boolean[settings.windowSize()];
+    }
+
+    /**
+     * Returns the state the call is admitted in, or null when it must be rejected.
+     */
+    synchronized State tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - stateSinceMillis < settings.openDuration().toMillis()) {
+                rejectedCalls++;
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsInFlight + trialsSucceeded >= settings.halfOpenCalls()) {
+                rejectedCalls++;
+                return null;
+            }
+            trialsInFlight++;
+        }
+        return state;
+    }
+
+    synchronized void onSuccess(State admittedIn) {
+        if (admittedIn != state) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            trialsInFlight--;
+            if (++trialsSucceeded >= settings.halfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        } else {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure(State admittedIn) {
+        if (admittedIn != state) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (windowSize >= settings.minimumCalls()
+                && windowFailures >= settings.failureRateThreshold() * windowSize) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(state, stateSinceMillis, windowSize, windowFailures, rejectedCalls);
+    }
+
+    private void record(boolean failure) {
+        if (windowSize == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowSize++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        if (next == State.OPEN) {
+            log.warn("Circuit breaker of {} opened after {}/{} failed calls; short-circuiting for {}s.",
+                    provider, windowFailures, windowSize, settings.openDuration().toSeconds());
+        } else {
+            log.info("Circuit breaker of {} is now {}.", provider, next);
+        }
+        state = next;
+        stateSinceMillis = System.currentTimeMillis();
+        trialsInFlight = 0;
+        trialsSucceeded = 0;
+        if (next == State.CLOSED) {
+            windowSize = 0;
+            windowNext = 0;
+            windowFailures = 0;
+        }
+    }
+
+    record Snapshot(State state, long stateSinceMillis, int bufferedCalls, int failedCalls, long rejectedCalls) {}
+}
@@ -0,0 +1,20 @@
+package com.jobhunter.service.resilience;
+
+import java.time.Instant;
+
+/**
+ * Breaker state and current timeout of one provider. {@code failureRate} is over the calls in the
+ * sliding window; {@code rejectedCalls} and {@code timeouts} count since startup.
+ */
+public record CircuitBreakerStatus(
+    String provider,
+    String state,
+    Instant stateSince,
+    int bufferedCalls,
+    int failedCalls,
+    double failureRate,
+    long rejectedCalls,
+    long timeouts,
+    long timeoutMs,
+    long p99LatencyMs
+) {}
@@ -0,0 +1,13 @@
+package com.jobhunter.service.resilience;
+
+/**
+ * Thrown instead of calling a provider whose circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String provider) {
+        super("Circuit breaker of " + provider + " is open, not calling it");
+    }
+}
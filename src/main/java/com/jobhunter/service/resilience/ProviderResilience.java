@@ -0,0 +1,115 @@
+package com.jobhunter.service.resilience;
+
+import com.jobhunter.service.provider.JobProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps job providers in a circuit breaker and an adaptive timeout (see
+ * {@link ResilientJobProvider}). There is one guard per provider name, so searches and ingestion
+ * share its breaker and timeout.
+ *
+ * Settings come from {@code job.resilience.*} and can be overridden per provider under
+ * {@code job.provider.<name>.resilience.*}, where {@code <name>} is {@link JobProvider#name()}.
+ *
+ * Per provider it publishes {@code jobhunter.provider.circuit.state} (0 closed, 1 open,
+ * 2 half-open), {@code jobhunter.provider.circuit.rejected}, {@code jobhunter.provider.timeouts}
+ * and the current {@code jobhunter.provider.timeout}.
+ */
+@Component
+public class ProviderResilience {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final ScheduledExecutorService watchdog;
+    private final Map<String, ResilientJobProvider> guarded = new ConcurrentHashMap<>();
+
+    public ProviderResilience(Environment environment,
+                              MeterRegistry meterRegistry,
+                              @Value("${job.resilience.enabled:true}") boolean enabled) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "provider-timeout-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public JobProvider wrap(JobProvider provider) {
+        if (!enabled) {
+            return provider;
+        }
+        return guarded.computeIfAbsent(provider.name(), name -> {
+            ResilientJobProvider resilient = ResilientJobProvider.of(provider, settingsFor(name), watchdog);
+            registerMeters(resilient);
+            return resilient;
+        });
+    }
+
+    private void registerMeters(ResilientJobProvider resilient) {
+        String provider = resilient.name();
+        Gauge.builder("jobhunter.provider.circuit.state", resilient, r -> r.state().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        FunctionCounter.builder("jobhunter.provider.circuit.rejected", resilient, r -> r.status().rejectedCalls())
+                .description("Calls rejected by an open circuit breaker")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        FunctionCounter.builder("jobhunter.provider.timeouts", resilient, r -> r.status().timeouts())
+                .description("Calls cut off by the adaptive timeout")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("jobhunter.provider.timeout", resilient, r -> r.status().timeoutMs())
+                .description("Current adaptive timeout")
+                .baseUnit("milliseconds")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    public List<CircuitBreakerStatus> status() {
+        return guarded.values().stream()
+                .map(ResilientJobProvider::status)
+                .sorted((a, b) -> a.provider().compareTo(b.provider()))
+                .collect(Collectors.toList());
+    }
+
+    ResilienceSettings settingsFor(String providerName) {
+        return new ResilienceSettings(
+                property(providerName, "failure_rate_threshold", Double.class, 0.5),
+                Math.max(1, property(providerName, "window_size", Integer.class, 20)),
+                Math.max(1, property(providerName, "minimum_calls", Integer.class, 5)),
+                Duration.ofSeconds(property(providerName, "open_seconds", Long.class, 30L)),
+                Math.max(1, property(providerName, "half_open_calls", Integer.class, 1)),
+                Duration.ofMillis(property(providerName, "min_timeout_ms", Long.class, 1000L)),
+                Duration.ofMillis(property(providerName, "max_timeout_ms", Long.class, 8000L)),
+                property(providerName, "timeout_multiplier", Double.class, 2.0),
+                Math.max(1, property(providerName, "latency_window", Integer.class, 100)));
+    }
+
+    private <T> T property(String providerName, String key, Class<T> type, T defaultValue) {
+        T global = environment.getProperty("job.resilience." + key, type, defaultValue);
+        return environment.getProperty("job.provider." + providerName + ".resilience." + key, type, global);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+}
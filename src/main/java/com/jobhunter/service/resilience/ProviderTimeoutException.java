@@ -0,0 +1,13 @@
+package com.jobhunter.service.resilience;
+
+/**
+ * Thrown when a provider call exceeds its adaptive timeout.
+ */
+public class ProviderTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ProviderTimeoutException(String provider, long timeoutMillis) {
+        super(provider + " did not answer within " + timeoutMillis + "ms");
+    }
+}
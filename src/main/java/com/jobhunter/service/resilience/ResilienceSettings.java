@@ -0,0 +1,18 @@
+package com.jobhunter.service.resilience;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and timeout settings of one provider; see {@link ProviderResilience}.
+ */
+record ResilienceSettings(
+    double failureRateThreshold,
+    int windowSize,
+    int minimumCalls,
+    Duration openDuration,
+    int halfOpenCalls,
+    Duration minTimeout,
+    Duration maxTimeout,
+    double timeoutMultiplier,
+    int latencyWindow
+) {}
@@ -0,0 +1,181 @@
+package com.jobhunter.service.resilience;
+
+import com.jobhunter.logging.RateLimitedLogger;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.provider.FeedJobProvider;
+import com.jobhunter.service.provider.JobProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Guards a provider with a {@link CircuitBreaker} and an {@link AdaptiveTimeout}.
+ *
+ * The call runs on the caller's thread; a watchdog interrupts it when the timeout passes, which
+ * makes the blocking WebClient call give up. Timeouts and exceptions count as failures. While the
+ * breaker is open calls fail at once with {@link CircuitOpenException}, which the cache in front
+ * answers with its last entry, however old.
+ */
+class ResilientJobProvider implements JobProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientJobProvider.class);
+
+    private final JobProvider delegate;
+    private final CircuitBreaker breaker;
+    private final AdaptiveTimeout timeout;
+    private final ScheduledExecutorService watchdog;
+    private final AtomicLong timeouts = new AtomicLong();
+    private final RateLimitedLogger warnings = new RateLimitedLogger(log, Duration.ofMinutes(1));
+
+    ResilientJobProvider(JobProvider delegate, ResilienceSettings settings, ScheduledExecutorService watchdog) {
+        this.delegate = delegate;
+        this.breaker = new CircuitBreaker(delegate.name(), settings);
+        this.timeout = new AdaptiveTimeout(settings);
+        this.watchdog = watchdog;
+    }
+
+    static ResilientJobProvider of(JobProvider delegate, ResilienceSettings settings, ScheduledExecutorService watchdog) {
+        if (delegate instanceof FeedJobProvider feed) {
+            return new Feed(feed, settings, watchdog);
+        }
+        return new ResilientJobProvider(delegate, settings, watchdog);
+    }
+
+    @Override
+    public List<JobPosting> getJobs(String... keywords) {
+        return call(() -> delegate.getJobs(keywords));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    CircuitBreaker.State state() {
+        return breaker.state();
+    }
+
+    CircuitBreakerStatus status() {
+        CircuitBreaker.Snapshot snapshot = breaker.snapshot();
+        return new CircuitBreakerStatus(
+                name(),
+                snapshot.state().name(),
+                Instant.ofEpochMilli(snapshot.stateSinceMillis()),
+                snapshot.bufferedCalls(),
+                snapshot.failedCalls(),
+                snapshot.bufferedCalls() == 0 ? 0.0 : (double) snapshot.failedCalls() / snapshot.bufferedCalls(),
+                snapshot.rejectedCalls(),
+                timeouts.get(),
+                timeout.timeoutMillis(),
+                timeout.p99Millis());
+    }
+
+    <T> T call(Supplier<T> upstream) {
+        CircuitBreaker.State admittedIn = breaker.tryAcquire();
+        if (admittedIn == null) {
+            throw new CircuitOpenException(name());
+        }
+
+        long timeoutMillis = timeout.timeoutMillis();
+        Deadline deadline = new Deadline(Thread.currentThread());
+        ScheduledFuture<?> watchdogTask = watchdog.schedule(deadline::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = upstream.get();
+        } catch (RuntimeException | Error e) {
+            if (deadline.finish()) {
+                onTimeout(admittedIn, timeoutMillis);
+                throw new ProviderTimeoutException(name(), timeoutMillis);
+            }
+            breaker.onFailure(admittedIn);
+            throw e;
+        } finally {
+            watchdogTask.cancel(false);
+        }
+
+        if (deadline.finish()) {
+            // it ignored the interrupt and finished late; still too slow
+            onTimeout(admittedIn, timeoutMillis);
+            throw new ProviderTimeoutException(name(), timeoutMillis);
+        }
+        timeout.record((System.nanoTime() - start) / 1_000_000);
+        breaker.onSuccess(admittedIn);
+        return result;
+    }
+
+    private void onTimeout(CircuitBreaker.State admittedIn, long timeoutMillis) {
+        timeouts.incrementAndGet();
+        breaker.onFailure(admittedIn);
+        warnings.warn("timeout", "{} timed out after {}ms.", name(), timeoutMillis);
+    }
+
+    /**
+     * Interrupts the calling thread when the timeout passes, unless the call finished first. The
+     * two sides synchronize so that an interrupt never leaks past {@link #finish()}.
+     */
+    private static final class Deadline {
+
+        private final Thread caller;
+        private boolean finished;
+        private boolean expired;
+
+        Deadline(Thread caller) {
+            this.caller = caller;
+        }
+
+        synchronized void expire() {
+            if (!finished) {
+                expired = true;
+                caller.interrupt();
+            }
+        }
+
+        /**
+         * Marks the call finished and returns whether the deadline had already expired, clearing
+         * the interrupt it caused.
+         */
+        synchronized boolean finish() {
+            if (!finished) {
+                finished = true;
+                if (expired) {
+                    Thread.interrupted();
+                }
+            }
+            return expired;
+        }
+    }
+
+    private static final class Feed extends ResilientJobProvider implements FeedJobProvider {
+
+        private final FeedJobProvider feed;
+
+        Feed(FeedJobProvider feed, ResilienceSettings settings, ScheduledExecutorService watchdog) {
+            super(feed, settings, watchdog);
+            this.feed = feed;
+        }
+
+        @Override
+        public List<JobPosting> fetchFeed() {
+            return call(feed::fetchFeed);
+        }
+
+        @Override
+        public List<JobPosting> filter(List<JobPosting> jobs, String... keywords) {
+            return feed.filter(jobs, keywords);
+        }
+
+        @Override
+        public List<JobPosting> getJobs(String... keywords) {
+            return FeedJobProvider.super.getJobs(keywords);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.text.AhoCorasick;
+import com.jobhunter.text.SkillTaxonomy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Okapi BM25 over the profile's skills: each skill a posting's description mentions adds its
+ * inverse document frequency in the stored corpus (rare skills weigh more than ones every
+ * posting lists), saturated in how often it is mentioned ({@code k1}) and normalized by
+ * description length ({@code b}). The sum is divided by its upper bound, the score of a posting
+ * mentioning every skill, and blended with the title match by {@code titleWeight}.
+ *
+ * Document frequencies come from {@link CorpusStatistics} and are read once per compiled
+ * profile, so scoring a posting is one pass over its cached tokens. Skills the taxonomy does not
+ * know have no frequency and get the average weight of the profile's known skills.
+ */
+public class Bm25Scoring implements ScoringStrategy {
+
+    private final SkillTaxonomy taxonomy;
+    private final CorpusStatistics statistics;
+    private final double k1;
+    private final double b;
+    private final double titleWeight;
+
+    public Bm25Scoring(SkillTaxonomy taxonomy, CorpusStatistics statistics, double k1, double b, double titleWeight) {
+        if (k1 < 0 || b < 0 || b > 1 || titleWeight < 0 || titleWeight > 1) {
+            throw new IllegalArgumentException("BM25 needs k1 >= 0 and b and title weight in [0, 1], got k1="
+                    + k1 + ", b=" + b + ", title weight=" + titleWeight);
+        }
+        this.taxonomy = taxonomy;
+        this.statistics = statistics;
+        this.k1 = k1;
+        this.b = b;
+        this.titleWeight = titleWeight;
+    }
+
+    @Override
+    public String name() {
+        return "bm25";
+    }
+
+    @Override
+    public ProfileScorer compile(CandidateProfile profile) {
+        ProfileSkills skills = new ProfileSkills(profile.skills(), taxonomy);
+        return new Scorer(skills, idf(skills), statistics.averageLength(), AhoCorasick.compile(profile.targetTitles()));
+    }
+
+    private double[] idf(ProfileSkills skills) {
+        int documents = statistics.documents();
+        double[] idf = new double[skills.size()];
+        double known = 0;
+        int knownCount = 0;
+        for (int slot = 0; slot < idf.length; slot++) {
+            int skill = skills.skillOf(slot);
+            if (skill >= 0) {
+                int df = statistics.documentFrequency(skill);
+                idf[slot] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+                known += idf[slot];
+                knownCount++;
+            }
+        }
+        double unknown = knownCount == 0 ? Math.log(2) : known / knownCount;
+        for (int slot = 0; slot < idf.length; slot++) {
+            if (skills.skillOf(slot) < 0) {
+                idf[slot] = unknown;
+            }
+        }
+        return idf;
+    }
+
+    private final class Scorer implements ProfileScorer {
+
+        private final ProfileSkills skills;
+        private final double[] idf;
+        private final double averageLength;
+        private final double maxScore;
+        private final AhoCorasick titles;
+        private final int[] frequencies;
+        private final IntConsumer count = this::count;
+        private int matchCount;
+
+        Scorer(ProfileSkills skills, double[] idf, double averageLength, AhoCorasick titles) {
+            this.skills = skills;
+            this.idf = idf;
+            this.averageLength = averageLength;
+            this.titles = titles;
+            this.frequencies = new int[skills.size()];
+            double max = 0;
+            for (double weight : idf) {
+                max += weight * (k1 + 1);
+            }
+            this.maxScore = max;
+        }
+
+        @Override
+        public Score score(JobPosting job) {
+            double titleScore = job.title() != null && titles.containsAny(job.title()) ? 1.0 : 0.0;
+            if (frequencies.length == 0 || job.description() == null || maxScore == 0) {
+                return new Score(titleScore * titleWeight, 0, titleScore);
+            }
+            Arrays.fill(frequencies, 0);
+            matchCount = 0;
+            List<String> tokens = job.text().descriptionTokens();
+            skills.forEachMention(tokens, count);
+
+            double length = tokens.size();
+            double norm = k1 * (1 - b + b * (averageLength > 0 ? length / averageLength : 1));
+            double sum = 0;
+            for (int slot = 0; slot < frequencies.length; slot++) {
+                int tf = frequencies[slot];
+                if (tf > 0) {
+                    sum += idf[slot] * tf * (k1 + 1) / (tf + norm);
+                }
+            }
+            double skillScore = (double) matchCount / frequencies.length;
+            return new Score((1 - titleWeight) * (sum / maxScore) + titleWeight * titleScore, skillScore, titleScore);
+        }
+
+        private void count(int slot) {
+            if (frequencies[slot]++ == 0) {
+                matchCount++;
+            }
+        }
+    }
+}
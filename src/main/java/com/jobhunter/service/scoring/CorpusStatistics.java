@@ -0,0 +1,92 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.text.SkillTaxonomy;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Document frequencies of the taxonomy's skills over the stored corpus, plus its size and
+ * average description length, for {@link Bm25Scoring}. {@link com.jobhunter.service.ingest.JobStore}
+ * keeps them current as postings are ingested, updated and dropped, so scoring never walks the
+ * corpus. A posting counts towards a skill when its description mentions the skill or any
+ * narrower one, once however often it does.
+ */
+@Component
+public class CorpusStatistics {
+
+    private final SkillTaxonomy taxonomy;
+    private final AtomicIntegerArray documentFrequency;
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private final AtomicLong totalLength = new AtomicLong();
+
+    public CorpusStatistics(SkillTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+        this.documentFrequency = new AtomicIntegerArray(taxonomy.size());
+    }
+
+    /**
+     * Counts a posting's description under the given key, replacing whatever was counted under
+     * it before.
+     */
+    public void add(String key, List<String> descriptionTokens) {
+        Document document = document(descriptionTokens);
+        documents.compute(key, (k, previous) -> {
+            if (previous != null) {
+                count(previous, -1);
+            }
+            count(document, 1);
+            return document;
+        });
+    }
+
+    public void remove(String key) {
+        documents.computeIfPresent(key, (k, previous) -> {
+            count(previous, -1);
+            return null;
+        });
+    }
+
+    /** Number of postings counted. */
+    public int documents() {
+        return documents.size();
+    }
+
+    /** Number of postings mentioning the skill or a narrower one. */
+    public int documentFrequency(int skill) {
+        return documentFrequency.get(skill);
+    }
+
+    /** Average description length in tokens; 0 when nothing is counted. */
+    public double averageLength() {
+        int count = documents.size();
+        return count == 0 ? 0 : (double) totalLength.get() / count;
+    }
+
+    private Document document(List<String> tokens) {
+        BitSet skills = new BitSet(taxonomy.size());
+        taxonomy.forEachMention(tokens, skill -> {
+            if (!skills.get(skill)) {
+                skills.set(skill);
+                for (int broader : taxonomy.broader(skill)) {
+                    skills.set(broader);
+                }
+            }
+        });
+        return new Document(skills.stream().toArray(), tokens.size());
+    }
+
+    private void count(Document document, int delta) {
+        for (int skill : document.skills()) {
+            documentFrequency.addAndGet(skill, delta);
+        }
+        totalLength.addAndGet((long) delta * document.length());
+    }
+
+    private record Document(int[] skills, int length) {}
+}
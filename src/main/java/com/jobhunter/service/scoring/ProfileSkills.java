@@ -0,0 +1,98 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.text.PhraseMatcher;
+import com.jobhunter.text.SkillTaxonomy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A profile's skills resolved against the {@link SkillTaxonomy}, one slot per listed skill.
+ * Skills the taxonomy knows are found through any of their aliases and through any narrower
+ * skill ("spring" is satisfied by a posting asking for "Spring Boot"); skills it does not know
+ * are matched as whole words on their own. Either way a posting's tokens are walked once, in
+ * time independent of the taxonomy's size. Not thread-safe.
+ */
+final class ProfileSkills {
+
+    private final SkillTaxonomy taxonomy;
+    private final int[] skillOfSlot;        // taxonomy skill id, or -1
+    private final int[][] slotsBySkill;     // taxonomy skill id -> slots it satisfies
+    private final PhraseMatcher otherSkills;
+    private final int[] slotOfOther;
+    private final IntConsumer onSkill = this::onSkill;
+    private final IntConsumer onOther = this::onOther;
+    private IntConsumer action;
+
+    ProfileSkills(List<String> skills, SkillTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+        this.skillOfSlot = new int[skills.size()];
+        this.slotsBySkill = new int[taxonomy.size()][];
+        List<String> others = new ArrayList<>();
+        List<Integer> otherSlots = new ArrayList<>();
+        for (int slot = 0; slot < skills.size(); slot++) {
+            int skill = skills.get(slot) == null ? -1 : taxonomy.skillId(skills.get(slot));
+            skillOfSlot[slot] = skill;
+            if (skill < 0) {
+                others.add(skills.get(slot));
+                otherSlots.add(slot);
+                continue;
+            }
+            addSlot(skill, slot);
+            for (int narrower : taxonomy.narrower(skill)) {
+                addSlot(narrower, slot);
+            }
+        }
+        this.otherSkills = others.isEmpty() ? null : PhraseMatcher.compile(others);
+        this.slotOfOther = otherSlots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    int size() {
+        return skillOfSlot.length;
+    }
+
+    /**
+     * Taxonomy id of the skill in a slot, or -1 when the taxonomy does not know it.
+     */
+    int skillOf(int slot) {
+        return skillOfSlot[slot];
+    }
+
+    /**
+     * Passes the slot of every profile skill mention in the tokens to the action, once per
+     * mention.
+     */
+    void forEachMention(List<String> tokens, IntConsumer slotAction) {
+        action = slotAction;
+        try {
+            taxonomy.forEachMention(tokens, onSkill);
+            if (otherSkills != null) {
+                otherSkills.forEachMatch(tokens, onOther);
+            }
+        } finally {
+            action = null;
+        }
+    }
+
+    private void addSlot(int skill, int slot) {
+        int[] slots = slotsBySkill[skill];
+        slots = slots == null ? new int[1] : Arrays.copyOf(slots, slots.length + 1);
+        slots[slots.length - 1] = slot;
+        slotsBySkill[skill] = slots;
+    }
+
+    private void onSkill(int skill) {
+        int[] slots = slotsBySkill[skill];
+        if (slots != null) {
+            for (int slot : slots) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    private void onOther(int phrase) {
+        action.accept(slotOfOther[phrase]);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+
+/**
+ * How {@link com.jobhunter.service.MatchingService} scores postings against a profile. A
+ * strategy compiles the profile once per ranking into a {@link ProfileScorer}, which then scores
+ * every candidate posting; the strategy in use is picked by {@link #name()} through
+ * {@code job.matching.scoring}.
+ */
+public interface ScoringStrategy {
+
+    String name();
+
+    ProfileScorer compile(CandidateProfile profile);
+
+    /**
+     * Scores postings against one compiled profile. Not thread-safe.
+     */
+    interface ProfileScorer {
+        Score score(JobPosting job);
+    }
+
+    /**
+     * @param total ranking score in [0, 1]
+     * @param skill share of the profile's skills the posting asks for, in [0, 1]
+     * @param title 1 when the posting's title matches a target title, else 0
+     */
+    record Score(double total, double skill, double title) {}
+}
@@ -0,0 +1,73 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.text.AhoCorasick;
+import com.jobhunter.text.SkillTaxonomy;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The share of the profile's skills a posting's description asks for, weighted 0.7, plus 0.3
+ * when its title contains one of the target titles. Every skill counts the same, however
+ * common it is across postings.
+ */
+public class WeightedScoring implements ScoringStrategy {
+
+    private static final double SKILL_WEIGHT = 0.7;
+    private static final double TITLE_WEIGHT = 0.3;
+
+    private final SkillTaxonomy taxonomy;
+
+    public WeightedScoring(SkillTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+    }
+
+    @Override
+    public String name() {
+        return "weighted";
+    }
+
+    @Override
+    public ProfileScorer compile(CandidateProfile profile) {
+        return new Scorer(new ProfileSkills(profile.skills(), taxonomy), AhoCorasick.compile(profile.targetTitles()));
+    }
+
+    private static final class Scorer implements ProfileScorer {
+
+        private final ProfileSkills skills;
+        private final AhoCorasick titles;
+        private final boolean[] hits;
+        private final IntConsumer mark = this::mark;
+        private int matchCount;
+
+        Scorer(ProfileSkills skills, AhoCorasick titles) {
+            this.skills = skills;
+            this.titles = titles;
+            this.hits = new boolean[skills.size()];
+        }
+
+        @Override
+        public Score score(JobPosting job) {
+            double skillScore = skillScore(job);
+            double titleScore = job.title() != null && titles.containsAny(job.title()) ? 1.0 : 0.0;
+            return new Score(skillScore * SKILL_WEIGHT + titleScore * TITLE_WEIGHT, skillScore, titleScore);
+        }
+
+        private double skillScore(JobPosting job) {
+            if (hits.length == 0 || job.description() == null) return 0;
+            Arrays.fill(hits, false);
+            matchCount = 0;
+            skills.forEachMention(job.text().descriptionTokens(), mark);
+            return (double) matchCount / hits.length;
+        }
+
+        private void mark(int slot) {
+            if (!hits[slot]) {
+                hits[slot] = true;
+                matchCount++;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.jobhunter.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive multi-pattern substring matcher (Aho-Corasick automaton).
+ *
+ * Patterns are lowercased and compiled into a dense transition table over the characters they
+ * use, so one pass over a text finds every occurrence of every pattern. Case folding happens in
+ * the character-class lookup while scanning; nothing is copied or allocated per scan. Matching
+ * has the same semantics as {@code text.toLowerCase().contains(pattern.toLowerCase())} for each
+ * pattern, and scan time does not depend on the number of patterns.
+ */
+public final class AhoCorasick {
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final int patternCount;
+    private final char[] alphabet;          // sorted non-ASCII pattern characters
+    private final int[] asciiClass;         // ASCII char -> character class, 0 = not in any pattern
+    private final int classCount;
+    private final int[] transitions;        // state * classCount + class -> next state
+    private final int[][] outputs;          // state -> ids of patterns ending here
+    private final int[] rootOutput;         // ids of empty patterns, which match every text
+
+    private AhoCorasick(int patternCount, char[] alphabet, int[] asciiClass, int classCount,
+                        int[] transitions, int[][] outputs) {
+        this.patternCount = patternCount;
+        this.alphabet = alphabet;
+        this.asciiClass = asciiClass;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.rootOutput = outputs[0];
+    }
+
+    /**
+     * Compiles the patterns; a pattern's id is its index in the list. Equal patterns keep
+     * separate ids and are reported together.
+     */
+    public static AhoCorasick compile(List<String> patterns) {
+        List<String> lowered = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            lowered.add(pattern.toLowerCase(Locale.ROOT));
+        }
+
+        // character classes: 1..n for every distinct pattern character
+        int[] asciiClass = new int[128];
+        StringBuilder nonAscii = new StringBuilder();
+        int classCount = 1;
+        for (String pattern : lowered) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c < 128) {
+                    if (asciiClass[c] == 0) {
+                        asciiClass[c] = classCount++;
+                    }
+                } else if (nonAscii.indexOf(String.valueOf(c)) < 0) {
+                    nonAscii.append(c);
+                }
+            }
+        }
+        // fold ASCII upper case into the lower-case classes so scanning needs no case conversion
+        for (char c = 'A'; c <= 'Z'; c++) {
+            asciiClass[c] = asciiClass[Character.toLowerCase(c)];
+        }
+        char[] alphabet = nonAscii.toString().toCharArray();
+        Arrays.sort(alphabet);
+        int asciiClasses = classCount;
+        classCount += alphabet.length;
+
+        // trie
+        List<int[]> gotoRows = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        gotoRows.add(newRow(classCount));
+        stateOutputs.add(new ArrayList<>());
+        for (int id = 0; id < lowered.size(); id++) {
+            String pattern = lowered.get(id);
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int cls = classOf(pattern.charAt(i), asciiClass, alphabet, asciiClasses);
+                if (gotoRows.get(state)[cls] < 0) {
+                    gotoRows.get(state)[cls] = gotoRows.size();
+                    gotoRows.add(newRow(classCount));
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = gotoRows.get(state)[cls];
+            }
+            stateOutputs.get(state).add(id);
+        }
+
+        // failure links, folded into a full transition table (breadth-first)
+        int states = gotoRows.size();
+        int[] transitions = new int[states * classCount];
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 0; cls < classCount; cls++) {
+            int next = gotoRows.get(0)[cls];
+            if (cls == 0 || next < 0) {
+                transitions[cls] = 0;
+            } else {
+                transitions[cls] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            stateOutputs.get(state).addAll(stateOutputs.get(failure[state]));
+            for (int cls = 0; cls < classCount; cls++) {
+                int next = gotoRows.get(state)[cls];
+                if (cls == 0 || next < 0) {
+                    transitions[state * classCount + cls] = transitions[failure[state] * classCount + cls];
+                } else {
+                    transitions[state * classCount + cls] = next;
+                    failure[next] = transitions[failure[state] * classCount + cls];
+                    queue.add(next);
+                }
+            }
+        }
+
+        int[][] outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            List<Integer> ids = stateOutputs.get(state);
+            outputs[state] = ids.isEmpty() ? NO_OUTPUT : ids.stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+        return new AhoCorasick(lowered.size(), alphabet, asciiClass, classCount, transitions, outputs);
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Sets {@code hits[id]} for every pattern occurring in the text and returns how many
+     * entries of {@code hits} it newly set. The caller owns (and can reuse) the array.
+     */
+    public int findAll(CharSequence text, boolean[] hits) {
+        int found = mark(rootOutput, hits);
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            state = transitions[state * classCount + classOf(text.charAt(i))];
+            int[] output = outputs[state];
+            if (output.length > 0) {
+                found += mark(output, hits);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Whether any pattern occurs in the text; stops at the first occurrence.
+     */
+    public boolean containsAny(CharSequence text) {
+        if (rootOutput.length > 0) {
+            return true;
+        }
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            state = transitions[state * classCount + classOf(text.charAt(i))];
+            if (outputs[state].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClass[c];
+        }
+        char lower = Character.toLowerCase(c);
+        if (lower < 128) {
+            return asciiClass[lower];
+        }
+        int pos = Arrays.binarySearch(alphabet, lower);
+        return pos >= 0 ? classCount - alphabet.length + pos : 0;
+    }
+
+    private static int classOf(char c, int[] asciiClass, char[] alphabet, int asciiClasses) {
+        return c < 128 ? asciiClass[c] : asciiClasses + Arrays.binarySearch(alphabet, c);
+    }
+
+    private static int mark(int[] ids, boolean[] hits) {
+        int newlySet = 0;
+        for (int id : ids) {
+            if (!hits[id]) {
+                hits[id] = true;
+                newlySet++;
+            }
+        }
+        return newlySet;
+    }
+
+    private static int[] newRow(int classCount) {
+        int[] row = new int[classCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
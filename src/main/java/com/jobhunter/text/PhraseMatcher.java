@@ -0,0 +1,109 @@
+package com.jobhunter.text;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Finds whole-word phrases in tokenized text.
+ *
+ * Phrases are tokenized with {@link Tokenizer} and stored in a trie keyed by token, so a phrase
+ * only matches on token boundaries ("go" does not match "google", "spring boot" matches
+ * "Spring-Boot"). Scanning walks the trie from every token position; each step is one hash
+ * lookup and walks are never deeper than the longest phrase, so the cost depends on the text
+ * length and not on how many phrases were compiled.
+ */
+public final class PhraseMatcher {
+
+    private final Node root;
+    private final int phraseCount;
+
+    private PhraseMatcher(Node root, int phraseCount) {
+        this.root = root;
+        this.phraseCount = phraseCount;
+    }
+
+    /**
+     * Compiles the phrases; a phrase's id is its index in the list. Phrases without any token
+     * characters never match.
+     */
+    public static PhraseMatcher compile(List<String> phrases) {
+        Node root = new Node();
+        for (int id = 0; id < phrases.size(); id++) {
+            List<String> tokens = Tokenizer.tokenize(phrases.get(id));
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (String token : tokens) {
+                node = node.children.computeIfAbsent(token, t -> new Node());
+            }
+            node.addId(id);
+        }
+        return new PhraseMatcher(root, phrases.size());
+    }
+
+    public int phraseCount() {
+        return phraseCount;
+    }
+
+    /**
+     * Sets {@code hits[id]} for every phrase occurring in the tokens and returns how many
+     * entries of {@code hits} it newly set.
+     */
+    public int findAll(List<String> tokens, boolean[] hits) {
+        int found = 0;
+        int size = tokens.size();
+        for (int start = 0; start < size; start++) {
+            Node node = root;
+            for (int i = start; i < size; i++) {
+                node = node.children.get(tokens.get(i));
+                if (node == null) {
+                    break;
+                }
+                for (int id : node.ids) {
+                    if (!hits[id]) {
+                        hits[id] = true;
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Passes the id of every phrase occurrence in the tokens to the action, in order of the
+     * occurrence's first token; a phrase occurring twice is passed twice.
+     */
+    public void forEachMatch(List<String> tokens, IntConsumer action) {
+        int size = tokens.size();
+        for (int start = 0; start < size; start++) {
+            Node node = root;
+            for (int i = start; i < size; i++) {
+                node = node.children.get(tokens.get(i));
+                if (node == null) {
+                    break;
+                }
+                for (int id : node.ids) {
+                    action.accept(id);
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        private static final int[] NO_IDS = new int[0];
+
+        final Map<String, Node> children = new HashMap<>(4);
+        int[] ids = NO_IDS;
+
+        void addId(int id) {
+            int[] grown = new int[ids.length + 1];
+            System.arraycopy(ids, 0, grown, 0, ids.length);
+            grown[ids.length] = id;
+            ids = grown;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.jobhunter.text;
+
+import java.util.List;
+
+/**
+ * 64-bit SimHash fingerprints of token sequences, for near-duplicate detection.
+ *
+ * Features are overlapping word 3-grams (single tokens for shorter texts). Texts sharing most of
+ * their 3-grams get fingerprints that differ in only a few bits, so near-duplicates are found by
+ * comparing {@link #distance(long, long)} instead of the texts.
+ */
+public final class SimHash {
+
+    private static final int SHINGLE = 3;
+
+    private SimHash() {
+    }
+
+    public static long of(List<String> tokens) {
+        int[] weights = new int[64];
+        int size = tokens.size();
+        if (size == 0) {
+            return 0L;
+        }
+        int shingles = Math.max(1, size - SHINGLE + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = 0;
+            for (int i = start; i < Math.min(size, start + SHINGLE); i++) {
+                hash = hash * 1_000_003L + tokens.get(i).hashCode();
+            }
+            hash = mix(hash);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += (((int) (hash >>> bit)) & 1) * 2 - 1;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Number of differing bits between two fingerprints.
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /** SplitMix64 finalizer, spreading the combined token hashes over all 64 bits. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
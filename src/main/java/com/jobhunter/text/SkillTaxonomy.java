@@ -0,0 +1,264 @@
+package com.jobhunter.text;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Canonical skill names with their aliases and broader skills, e.g.
+ * {@code spring boot: springboot < spring}, compiled into a {@link PhraseMatcher}.
+ *
+ * The file format is one skill per line: the canonical name, optionally followed by a colon and
+ * comma-separated aliases, optionally followed by {@code <} and the comma-separated names of
+ * broader skills it implies. Blank lines and lines starting with {@code #} are ignored. Every
+ * surface form (canonical name or alias) is a "form" with its own id, mapped back to the index
+ * of its skill; forms are compared by their tokens, and a form listed twice keeps its first
+ * skill. Broader skills may be listed before or after the skills naming them; naming one that
+ * is not in the file is an error.
+ *
+ * Forms only match as whole words ("go" does not match "good", "java" does not match
+ * "javascript"), and finding them costs one pass over the tokens however large the taxonomy is.
+ */
+public final class SkillTaxonomy {
+
+    private static final int[] NONE = new int[0];
+    private static final String[] NO_NAMES = new String[0];
+
+    private final List<String> skills;
+    private final List<String> forms;
+    private final int[] skillOfForm;
+    private final Map<String, Integer> skillByForm;
+    private final int[][] broader;
+    private final int[][] narrower;
+    private final PhraseMatcher matcher;
+    private final String fingerprint;
+
+    private SkillTaxonomy(List<String> skills, List<String> forms, int[] skillOfForm, Map<String, Integer> skillByForm,
+                          int[][] broader, int[][] narrower, String fingerprint) {
+        this.skills = skills;
+        this.forms = forms;
+        this.skillOfForm = skillOfForm;
+        this.skillByForm = skillByForm;
+        this.broader = broader;
+        this.narrower = narrower;
+        this.matcher = PhraseMatcher.compile(forms);
+        this.fingerprint = fingerprint;
+    }
+
+    public static SkillTaxonomy load(InputStream in) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return parse(lines);
+    }
+
+    /**
+     * @throws IllegalArgumentException when a line names a broader skill that is not defined
+     */
+    public static SkillTaxonomy parse(List<String> lines) {
+        List<String> skills = new ArrayList<>();
+        List<String> forms = new ArrayList<>();
+        List<Integer> skillOfForm = new ArrayList<>();
+        Map<String, Integer> skillByForm = new HashMap<>();
+        List<String[]> parentNames = new ArrayList<>();
+        MessageDigest fingerprint = sha256();
+
+        for (String raw : lines) {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            fingerprint.update((line + "\n").getBytes(StandardCharsets.UTF_8));
+            int lessThan = line.lastIndexOf('<');
+            String[] parents = lessThan < 0 ? NO_NAMES : line.substring(lessThan + 1).split(",");
+            if (lessThan >= 0) {
+                line = line.substring(0, lessThan).strip();
+            }
+            int colon = line.indexOf(':');
+            String name = (colon < 0 ? line : line.substring(0, colon)).strip();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int skill = skills.size();
+            skills.add(name);
+            parentNames.add(parents);
+            addForm(name, skill, forms, skillOfForm, skillByForm);
+            if (colon >= 0) {
+                for (String alias : line.substring(colon + 1).split(",")) {
+                    addForm(alias.strip(), skill, forms, skillOfForm, skillByForm);
+                }
+            }
+        }
+
+        List<List<Integer>> parents = new ArrayList<>(skills.size());
+        for (int skill = 0; skill < skills.size(); skill++) {
+            List<Integer> resolved = new ArrayList<>();
+            for (String parentName : parentNames.get(skill)) {
+                if (parentName.isBlank()) {
+                    continue;
+                }
+                Integer parent = skillByForm.get(key(parentName));
+                if (parent == null) {
+                    throw new IllegalArgumentException("Skill '" + skills.get(skill)
+                            + "' names an unknown broader skill '" + parentName.strip() + "'");
+                }
+                if (parent != skill) {
+                    resolved.add(parent);
+                }
+            }
+            parents.add(resolved);
+        }
+
+        int[][] broader = new int[skills.size()][];
+        List<List<Integer>> narrower = new ArrayList<>(skills.size());
+        for (int skill = 0; skill < skills.size(); skill++) {
+            narrower.add(new ArrayList<>());
+        }
+        for (int skill = 0; skill < skills.size(); skill++) {
+            broader[skill] = ancestors(skill, parents);
+            for (int ancestor : broader[skill]) {
+                narrower.get(ancestor).add(skill);
+            }
+        }
+        int[][] narrowerArrays = new int[skills.size()][];
+        for (int skill = 0; skill < skills.size(); skill++) {
+            narrowerArrays[skill] = narrower.get(skill).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new SkillTaxonomy(List.copyOf(skills), List.copyOf(forms),
+                skillOfForm.stream().mapToInt(Integer::intValue).toArray(), Map.copyOf(skillByForm),
+                broader, narrowerArrays, HexFormat.of().formatHex(fingerprint.digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void addForm(String form, int skill, List<String> forms, List<Integer> skillOfForm,
+                                Map<String, Integer> skillByForm) {
+        String key = key(form);
+        if (key.isEmpty() || skillByForm.putIfAbsent(key, skill) != null) {
+            return;
+        }
+        forms.add(form);
+        skillOfForm.add(skill);
+    }
+
+    /** Every skill reachable through broader links, without the skill itself; cycles are cut. */
+    private static int[] ancestors(int skill, List<List<Integer>> parents) {
+        if (parents.get(skill).isEmpty()) {
+            return NONE;
+        }
+        List<Integer> found = new ArrayList<>();
+        boolean[] seen = new boolean[parents.size()];
+        seen[skill] = true;
+        List<Integer> pending = new ArrayList<>(parents.get(skill));
+        while (!pending.isEmpty()) {
+            int next = pending.remove(pending.size() - 1);
+            if (!seen[next]) {
+                seen[next] = true;
+                found.add(next);
+                pending.addAll(parents.get(next));
+            }
+        }
+        return found.isEmpty() ? NONE : found.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String key(String form) {
+        return String.join(" ", Tokenizer.tokenize(form));
+    }
+
+    /**
+     * Canonical skill names in file order; a skill's id is its index here.
+     */
+    public List<String> skills() {
+        return skills;
+    }
+
+    /**
+     * Every canonical name and alias; a form's id is its index here.
+     */
+    public List<String> forms() {
+        return forms;
+    }
+
+    public int skillOfForm(int formId) {
+        return skillOfForm[formId];
+    }
+
+    public int size() {
+        return skills.size();
+    }
+
+    /**
+     * SHA-256 of the taxonomy's definitions, ignoring comments, blank lines and indentation;
+     * tells whether results derived from it, such as cached profiles, are still current.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Id of the skill with this canonical name or alias, compared by tokens, or -1.
+     */
+    public int skillId(String nameOrAlias) {
+        return skillByForm.getOrDefault(key(nameOrAlias), -1);
+    }
+
+    /**
+     * Skills this one implies, directly or transitively ("spring boot" implies "spring" and,
+     * through it, "java").
+     */
+    public int[] broader(int skill) {
+        return broader[skill];
+    }
+
+    /**
+     * Skills implying this one, directly or transitively.
+     */
+    public int[] narrower(int skill) {
+        return narrower[skill];
+    }
+
+    /**
+     * Passes the skill id of every form occurring in the tokens to the action; a skill
+     * mentioned several times, or by several forms, is passed each time.
+     */
+    public void forEachMention(List<String> tokens, IntConsumer action) {
+        matcher.forEachMatch(tokens, form -> action.accept(skillOfForm[form]));
+    }
+
+    /**
+     * Canonical names of the skills mentioned in the tokens, in file order. Broader skills are
+     * only included when mentioned themselves.
+     */
+    public List<String> mentioned(List<String> tokens) {
+        boolean[] found = new boolean[skills.size()];
+        forEachMention(tokens, skill -> found[skill] = true);
+        List<String> names = new ArrayList<>();
+        for (int skill = 0; skill < found.length; skill++) {
+            if (found[skill]) {
+                names.add(skills.get(skill));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,357 @@
+package com.jobhunter.text;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns provider text, often HTML, into plain text in a single pass.
+ *
+ * Tags and comments are dropped, and so is the content of {@code script} and {@code style}
+ * elements; block-level tags ({@code p}, {@code br}, {@code li}, ...) become line breaks so that
+ * words on either side stay apart. Character references ({@code &amp;}, {@code &#39;},
+ * {@code &#x2013;}) and the common named entities are decoded, runs of whitespace collapse to one
+ * space (or one line break), and the result is trimmed. {@link #fold} additionally lowercases and
+ * strips accents and compatibility forms ("Café" becomes "cafe", "ﬁ" becomes "fi"), which is the
+ * form text is compared and tokenized in.
+ *
+ * Text that needs none of this is returned as is, without copying. A {@code <} that is not
+ * closed within {@link #MAX_TAG_LENGTH} characters is kept as text, so that malformed input (say
+ * many unclosed quotes) is not rescanned to its end at every {@code <}.
+ */
+public final class TextNormalizer {
+
+    private static final String[] BLOCK_TAGS = {
+            "p", "br", "div", "li", "ul", "ol", "tr", "td", "th", "table", "h1", "h2", "h3", "h4", "h5", "h6",
+            "hr", "dd", "dt", "dl", "pre", "blockquote", "section", "article", "header", "footer"
+    };
+
+    private static final Map<String, Integer> ENTITIES = Map.ofEntries(
+            Map.entry("amp", (int) '&'), Map.entry("lt", (int) '<'), Map.entry("gt", (int) '>'),
+            Map.entry("quot", (int) '"'), Map.entry("apos", (int) '\''), Map.entry("nbsp", (int) ' '),
+            Map.entry("ndash", 0x2013), Map.entry("mdash", 0x2014), Map.entry("hellip", 0x2026),
+            Map.entry("lsquo", 0x2018), Map.entry("rsquo", 0x2019), Map.entry("ldquo", 0x201C),
+            Map.entry("rdquo", 0x201D), Map.entry("bull", 0x2022), Map.entry("middot", 0x00B7),
+            Map.entry("copy", 0x00A9), Map.entry("reg", 0x00AE), Map.entry("trade", 0x2122),
+            Map.entry("euro", 0x20AC), Map.entry("pound", 0x00A3), Map.entry("times", 0x00D7),
+            Map.entry("eacute", 0x00E9), Map.entry("egrave", 0x00E8), Map.entry("agrave", 0x00E0),
+            Map.entry("auml", 0x00E4), Map.entry("ouml", 0x00F6), Map.entry("uuml", 0x00FC),
+            Map.entry("Auml", 0x00C4), Map.entry("Ouml", 0x00D6), Map.entry("Uuml", 0x00DC),
+            Map.entry("szlig", 0x00DF), Map.entry("ccedil", 0x00E7), Map.entry("ntilde", 0x00F1)
+    );
+
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    /** Longest tag or declaration, attributes included, that is recognized as markup. */
+    static final int MAX_TAG_LENGTH = 4096;
+
+    private static final int NOTHING = 0;
+    private static final int LOWERCASE = 1;
+    private static final int FULL = 2;
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Markup stripped, entities decoded, whitespace collapsed and trimmed; case is kept.
+     */
+    public static String plainText(String text) {
+        return normalize(text, false);
+    }
+
+    /**
+     * {@link #plainText} folded to lower case without accents.
+     */
+    public static String fold(String text) {
+        return normalize(text, true);
+    }
+
+    /**
+     * Accents and compatibility forms removed from already lowercased text; ASCII text is
+     * returned as is.
+     */
+    public static String foldUnicode(String lowercased) {
+        if (isAscii(lowercased)) {
+            return lowercased;
+        }
+        String decomposed = Normalizer.normalize(lowercased, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    private static String normalize(String text, boolean fold) {
+        if (text == null) {
+            return null;
+        }
+        int work = work(text, fold);
+        if (work == NOTHING) {
+            return text;
+        }
+        if (work == LOWERCASE) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+
+        Output out = new Output(text.length(), fold);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                int end = skipMarkup(text, i, out);
+                if (end > i) {
+                    i = end;
+                    continue;
+                }
+            } else if (c == '&') {
+                int end = decodeEntity(text, i, out);
+                if (end > i) {
+                    i = end;
+                    continue;
+                }
+            }
+            int codePoint = text.codePointAt(i);
+            out.append(codePoint);
+            i += Character.charCount(codePoint);
+        }
+
+        String result = out.toString();
+        return fold && out.nonAscii ? foldUnicode(result) : result;
+    }
+
+    /**
+     * What it takes to normalize the text: {@link #NOTHING} when it has no markup or entities,
+     * single spaces only, is trimmed and, when folding, is lower-case ASCII; {@link #LOWERCASE}
+     * when folding and only upper-case ASCII letters stand in the way; {@link #FULL} otherwise.
+     */
+    private static int work(String text, boolean fold) {
+        int length = text.length();
+        if (length > 0 && (text.charAt(0) == ' ' || text.charAt(length - 1) == ' ')) {
+            return FULL;
+        }
+        int work = NOTHING;
+        char previous = 'x';
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '<' || c == '&' || (c == ' ' && previous == ' ')
+                    || (c < 128 ? c < ' ' && isSpace(c) : fold || isSpace(c))) {
+                return FULL;
+            }
+            if (fold && c >= 'A' && c <= 'Z') {
+                work = LOWERCASE;
+            }
+            previous = c;
+        }
+        return work;
+    }
+
+    /**
+     * Skips a tag, comment or declaration starting at {@code start} and returns the index after
+     * it, or {@code start} when the {@code <} does not open one and is plain text.
+     */
+    private static int skipMarkup(String text, int start, Output out) {
+        int length = text.length();
+        if (text.startsWith("<!--", start)) {
+            int end = text.indexOf("-->", start + 4);
+            return end < 0 ? length : end + 3;
+        }
+        if (start + 1 >= length) {
+            return start;
+        }
+        char next = text.charAt(start + 1);
+        boolean closing = next == '/';
+        int nameStart = closing ? start + 2 : start + 1;
+        int limit = Math.min(length, start + MAX_TAG_LENGTH);
+        if (next == '!' || next == '?') {
+            for (int end = start + 2; end < limit; end++) {
+                if (text.charAt(end) == '>') {
+                    return end + 1;
+                }
+            }
+            return start;
+        }
+        if (nameStart >= length || !isAsciiLetter(text.charAt(nameStart))) {
+            return start;
+        }
+        int nameEnd = nameStart;
+        while (nameEnd < limit && Character.isLetterOrDigit(text.charAt(nameEnd))) {
+            nameEnd++;
+        }
+
+        // attributes: a '>' inside a quoted value does not close the tag
+        int end = nameEnd;
+        char quote = 0;
+        while (end < limit) {
+            char c = text.charAt(end);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                break;
+            }
+            end++;
+        }
+        if (end >= limit) {
+            return start;
+        }
+        end++;
+
+        int nameLength = nameEnd - nameStart;
+        if (isBlockTag(text, nameStart, nameLength)) {
+            out.lineBreak();
+        } else {
+            out.space();
+        }
+        if (!closing && text.charAt(end - 2) != '/'
+                && (nameIs(text, nameStart, nameLength, "script") || nameIs(text, nameStart, nameLength, "style"))) {
+            return skipElementContent(text, end, text.substring(nameStart, nameEnd));
+        }
+        return end;
+    }
+
+    private static int skipElementContent(String text, int from, String name) {
+        int length = text.length();
+        int i = text.indexOf('<', from);
+        while (i >= 0) {
+            if (i + 2 + name.length() <= length && text.charAt(i + 1) == '/'
+                    && text.regionMatches(true, i + 2, name, 0, name.length())) {
+                int end = text.indexOf('>', i);
+                return end < 0 ? length : end + 1;
+            }
+            i = text.indexOf('<', i + 1);
+        }
+        return length;
+    }
+
+    /**
+     * Decodes the character reference starting at {@code start} into the output and returns the
+     * index after it, or {@code start} when the {@code &} is plain text.
+     */
+    private static int decodeEntity(String text, int start, Output out) {
+        int semicolon = -1;
+        int limit = Math.min(text.length(), start + MAX_ENTITY_LENGTH + 2);
+        for (int i = start + 1; i < limit; i++) {
+            char c = text.charAt(i);
+            if (c == ';') {
+                semicolon = i;
+                break;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                return start;
+            }
+        }
+        if (semicolon < start + 2) {
+            return start;
+        }
+
+        int codePoint;
+        if (text.charAt(start + 1) == '#') {
+            boolean hex = text.charAt(start + 2) == 'x' || text.charAt(start + 2) == 'X';
+            try {
+                codePoint = Integer.parseInt(text, hex ? start + 3 : start + 2, semicolon, hex ? 16 : 10);
+            } catch (NumberFormatException e) {
+                return start;
+            }
+            if (codePoint <= 0 || !Character.isValidCodePoint(codePoint)) {
+                return start;
+            }
+        } else {
+            Integer named = ENTITIES.get(text.substring(start + 1, semicolon));
+            if (named == null) {
+                return start;
+            }
+            codePoint = named;
+        }
+        out.append(codePoint);
+        return semicolon + 1;
+    }
+
+    private static boolean isBlockTag(String text, int nameStart, int nameLength) {
+        for (String tag : BLOCK_TAGS) {
+            if (nameIs(text, nameStart, nameLength, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean nameIs(String text, int nameStart, int nameLength, String name) {
+        return nameLength == name.length() && text.regionMatches(true, nameStart, name, 0, nameLength);
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isSpace(int codePoint) {
+        return Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects output characters, deferring whitespace so that runs collapse and nothing
+     * trails.
+     */
+    private static final class Output {
+
+        private static final int NONE = 0;
+        private static final int SPACE = 1;
+        private static final int LINE_BREAK = 2;
+
+        private final StringBuilder text;
+        private final boolean fold;
+        private int pending = NONE;
+        private boolean nonAscii;
+
+        Output(int capacity, boolean fold) {
+            this.text = new StringBuilder(capacity);
+            this.fold = fold;
+        }
+
+        void append(int codePoint) {
+            if (codePoint < 128 ? codePoint <= ' ' && isSpace(codePoint) : isSpace(codePoint)) {
+                pending = Math.max(pending, codePoint == '\n' ? LINE_BREAK : SPACE);
+                return;
+            }
+            if (pending != NONE && text.length() > 0) {
+                text.append(pending == LINE_BREAK ? '\n' : ' ');
+            }
+            pending = NONE;
+            if (codePoint < 128) {
+                text.append((char) (fold && codePoint >= 'A' && codePoint <= 'Z' ? codePoint + ('a' - 'A') : codePoint));
+                return;
+            }
+            nonAscii = true;
+            text.appendCodePoint(fold ? Character.toLowerCase(codePoint) : codePoint);
+        }
+
+        void space() {
+            pending = Math.max(pending, SPACE);
+        }
+
+        void lineBreak() {
+            pending = LINE_BREAK;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
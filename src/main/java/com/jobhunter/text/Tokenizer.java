@@ -0,0 +1,58 @@
+package com.jobhunter.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lowercase word tokens. Letters and digits form tokens, as do the symbol
+ * characters found in technology names ("c++", "c#"); everything else, dots included, separates
+ * tokens. A word followed by a full stop without a space ("java.we") is thus still found, and a
+ * dotted name ("node.js", "asp.net") is a phrase of its parts, which equally matches "Node JS".
+ * Accents are folded away ("München" gives "munchen"), as {@link TextNormalizer#fold} does for
+ * whole texts.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        // a token is always a contiguous span of the text; it is only copied when it needs
+        // lowercasing or folding
+        int length = text.length();
+        int start = -1;
+        boolean plain = true;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isTokenChar(c)) {
+                if (start < 0) {
+                    start = i;
+                    plain = true;
+                }
+                plain &= c < 128 && (c < 'A' || c > 'Z');
+            } else if (start >= 0) {
+                tokens.add(token(text, start, i, plain));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(token(text, start, length, plain));
+        }
+        return tokens;
+    }
+
+    private static String token(String text, int start, int end, boolean plain) {
+        String token = text.substring(start, end);
+        return plain ? token : TextNormalizer.foldUnicode(token.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+}
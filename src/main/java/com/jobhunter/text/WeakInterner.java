@@ -0,0 +1,100 @@
+package com.jobhunter.text;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one instance between equal strings without keeping any of them alive: an entry goes
+ * away once nothing else references its string, so the pool holds the distinct strings still in
+ * use rather than every string ever seen, and needs no bound.
+ *
+ * The map is keyed by weak references that compare by their string, and looked up with a probe
+ * that compares the same way, so a lookup costs what a {@link ConcurrentHashMap} lookup costs and
+ * takes no lock. Entries whose string was collected are removed on later calls.
+ */
+public final class WeakInterner {
+
+    private final ConcurrentHashMap<Object, WeakEntry> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<String> collected = new ReferenceQueue<>();
+
+    /**
+     * The shared instance equal to {@code value}, which becomes the shared instance if there was
+     * none; null for null.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        expunge();
+        WeakEntry entry = entries.get(new Probe(value));
+        String shared = entry == null ? null : entry.get();
+        while (shared == null) {
+            WeakEntry created = new WeakEntry(value, collected);
+            entry = entries.putIfAbsent(created, created);
+            // an existing entry may have been collected in between; then try again
+            shared = entry == null ? value : entry.get();
+        }
+        return shared;
+    }
+
+    /**
+     * Number of strings currently shared; strings no longer in use may be counted until the
+     * garbage collector clears them.
+     */
+    public int size() {
+        expunge();
+        return entries.size();
+    }
+
+    private void expunge() {
+        Reference<? extends String> reference;
+        while ((reference = collected.poll()) != null) {
+            entries.remove(reference);
+        }
+    }
+
+    private static final class WeakEntry extends WeakReference<String> {
+
+        private final int hash;
+
+        WeakEntry(String value, ReferenceQueue<String> queue) {
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof WeakEntry other) || other.hash != hash) {
+                return false;
+            }
+            String value = get();
+            return value != null && value.equals(other.get());
+        }
+    }
+
+    /**
+     * Looks up the entry of a string without creating a reference.
+     */
+    private record Probe(String value) {
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeakEntry entry && value.equals(entry.get());
+        }
+    }
+}
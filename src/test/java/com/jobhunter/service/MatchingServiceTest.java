@@ -0,0 +1,80 @@
+package com.jobhunter.service;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.model.RankedPage;
+import com.jobhunter.service.scoring.WeightedScoring;
+import com.jobhunter.text.SkillTaxonomy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paging over {@link MatchingService#rank}: only the best {@code top_k} matches can be paged to,
+ * and the page counts must say so.
+ */
+class MatchingServiceTest {
+
+    private static final CandidateProfile PROFILE =
+            new CandidateProfile("Ada", 5, List.of("java", "spring"), List.of("Backend Engineer"));
+
+    private final MatchingService matchingService = new MatchingService(new SimpleMeterRegistry(),
+            new WeightedScoring(SkillTaxonomy.parse(List.of("java", "spring < java"))), 25, 0.1);
+
+    @Test
+    void countsOnlyMatchesWithinTopK() {
+        List<JobPosting> jobs = postings(100);
+
+        RankedPage first = matchingService.rank(PROFILE, jobs.iterator(), 1, 10);
+        assertEquals(10, first.matches().size());
+        assertEquals(25, first.totalMatches());
+        assertTrue(first.hasNext());
+
+        RankedPage last = matchingService.rank(PROFILE, jobs.iterator(), 3, 10);
+        assertEquals(5, last.matches().size());
+        assertEquals(25, last.totalMatches());
+        assertFalse(last.hasNext());
+
+        RankedPage beyond = matchingService.rank(PROFILE, jobs.iterator(), 4, 10);
+        assertTrue(beyond.matches().isEmpty());
+        assertFalse(beyond.hasNext());
+    }
+
+    @Test
+    void countsEveryMatchBelowTopK() {
+        RankedPage page = matchingService.rank(PROFILE, postings(12).iterator(), 1, 10);
+
+        assertEquals(12, page.totalMatches());
+        assertTrue(page.hasNext());
+        assertFalse(matchingService.rank(PROFILE, postings(12).iterator(), 2, 10).hasNext());
+    }
+
+    @Test
+    void pagesFollowTheRanking() {
+        List<JobPosting> jobs = postings(30);
+        List<String> paged = new ArrayList<>();
+        for (int page = 1; page <= 3; page++) {
+            matchingService.rank(PROFILE, jobs.iterator(), page, 10).matches()
+                    .forEach(match -> paged.add(match.job().id()));
+        }
+
+        List<String> ranked = matchingService.matchAndRank(PROFILE, jobs).stream()
+                .map(match -> match.job().id())
+                .toList();
+        assertEquals(ranked, paged.subList(0, ranked.size()));
+    }
+
+    private static List<JobPosting> postings(int count) {
+        List<JobPosting> jobs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String description = i % 2 == 0 ? "Java and Spring Boot" : "Java";
+            jobs.add(new JobPosting(String.valueOf(i), "Backend Engineer " + i, "Acme", "Remote", description,
+                    "https://example.com/" + i));
+        }
+        return jobs;
+    }
+}
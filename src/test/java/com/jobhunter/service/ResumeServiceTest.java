@@ -0,0 +1,109 @@
+package com.jobhunter.service;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.service.cache.ResumeCache;
+import com.jobhunter.text.SkillTaxonomy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch extraction has a pool of its own: a batch filling it neither refuses nor delays
+ * interactive uploads.
+ */
+class ResumeServiceTest {
+
+    private static final SkillTaxonomy TAXONOMY = SkillTaxonomy.parse(List.of("java", "spring < java"));
+
+    private final HeldCache cache = new HeldCache();
+    // one thread and one queue slot for each kind of caller
+    private final ResumeService resumeService = new ResumeService(cache, new SimpleMeterRegistry(), TAXONOMY,
+            1, 1, 15_000, 100_000, 1, 1);
+
+    @AfterEach
+    void shutdown() {
+        cache.release.countDown();
+        resumeService.shutdown();
+    }
+
+    @Test
+    void parsesInteractivelyWhileABatchFillsItsPool() throws Exception {
+        List<Future<CandidateProfile>> submitted = new CopyOnWriteArrayList<>();
+        Thread batch = new Thread(() -> {
+            try {
+                for (int i = 0; i < 3; i++) {
+                    byte[] resume = ("Batch Candidate " + i + "\nspring developer").getBytes(StandardCharsets.UTF_8);
+                    cache.held.add(ResumeCache.digest(resume));
+                    submitted.add(resumeService.submit(resume, "batch-" + i + ".txt"));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "batch-upload");
+        batch.start();
+
+        // the first batch resume is being extracted, the second queued, the third waits for room
+        assertTrue(cache.extracting.await(5, TimeUnit.SECONDS));
+        waitUntilWaiting(batch);
+        assertEquals(2, submitted.size());
+
+        byte[] resume = "Ada Lovelace\nSenior java developer".getBytes(StandardCharsets.UTF_8);
+        CandidateProfile profile = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> resumeService.parse(resume, "resume.txt"));
+        assertEquals(List.of("java"), profile.skills());
+
+        cache.release.countDown();
+        batch.join(5_000);
+        assertEquals(3, submitted.size());
+        for (Future<CandidateProfile> result : submitted) {
+            assertEquals(List.of("spring"), resumeService.await(result, "batch.txt").skills());
+        }
+    }
+
+    private static void waitUntilWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    /**
+     * Holds the extraction of the resumes in {@code held} at the point their profile is cached.
+     */
+    private static final class HeldCache extends ResumeCache {
+
+        final Set<String> held = ConcurrentHashMap.newKeySet();
+        final CountDownLatch extracting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        HeldCache() {
+            super(TAXONOMY, false, 0, "", 0);
+        }
+
+        @Override
+        public void put(String digest, CandidateProfile profile) {
+            if (held.contains(digest)) {
+                extracting.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.put(digest, profile);
+        }
+    }
+}
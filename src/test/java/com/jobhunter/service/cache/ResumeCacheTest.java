@@ -0,0 +1,68 @@
+package com.jobhunter.service.cache;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.text.SkillTaxonomy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Persisted profiles survive a restart only while the taxonomy they were parsed with is
+ * unchanged.
+ */
+class ResumeCacheTest {
+
+    private static final SkillTaxonomy TAXONOMY = SkillTaxonomy.parse(List.of("java", "spring < java"));
+    private static final CandidateProfile PROFILE =
+            new CandidateProfile("Ada", 5, List.of("java"), List.of("Software Engineer"));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reloadsProfilesWrittenWithTheSameTaxonomy() {
+        Path file = dir.resolve("resumes.json");
+        write(TAXONOMY, file);
+
+        // comments and indentation do not change the taxonomy
+        ResumeCache reopened = open(SkillTaxonomy.parse(List.of("# skills", "java", "  spring < java")), file);
+        assertEquals(PROFILE, reopened.get(ResumeCache.digest("resume")));
+    }
+
+    @Test
+    void discardsProfilesWrittenWithAnotherTaxonomy() {
+        Path file = dir.resolve("resumes.json");
+        write(TAXONOMY, file);
+
+        ResumeCache reopened = open(SkillTaxonomy.parse(List.of("java", "spring < java", "kotlin")), file);
+        assertNull(reopened.get(ResumeCache.digest("resume")));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void ignoresFilesInAnOlderFormat() throws IOException {
+        Path file = dir.resolve("resumes.json");
+        Files.writeString(file, "[{\"digest\":\"" + ResumeCache.digest("resume") + "\",\"profile\":{\"name\":\"Ada\"}}]");
+
+        assertNull(open(TAXONOMY, file).get(ResumeCache.digest("resume")));
+    }
+
+    private static void write(SkillTaxonomy taxonomy, Path file) {
+        ResumeCache cache = open(taxonomy, file);
+        cache.put(ResumeCache.digest("resume"), PROFILE);
+        cache.flush();
+        assertTrue(Files.exists(file));
+    }
+
+    private static ResumeCache open(SkillTaxonomy taxonomy, Path file) {
+        ResumeCache cache = new ResumeCache(taxonomy, true, 10, file.toString(), 0);
+        cache.load();
+        return cache;
+    }
+}
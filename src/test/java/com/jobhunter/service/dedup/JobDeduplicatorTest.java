@@ -0,0 +1,119 @@
+package com.jobhunter.service.dedup;
+
+import com.jobhunter.model.JobPosting;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The duplicate rules of {@link JobDeduplicator} and how merged postings are put together.
+ */
+class JobDeduplicatorTest {
+
+    private static final String DESCRIPTION = "We are looking for a backend engineer to design build and operate "
+            + "payment services written in Java with Spring Boot running on Kubernetes in several regions "
+            + "you will own features from design to production review code mentor colleagues and improve "
+            + "our observability tooling while working closely with product managers and designers";
+
+    // the same text with one word changed
+    private static final String EDITED = DESCRIPTION.replace("and designers", "and engineers");
+
+    private final JobDeduplicator deduplicator = new JobDeduplicator(true, 4, 30);
+
+    @Test
+    void urlsIgnoreTrackingParametersAndWww() {
+        String key = JobDeduplicator.normalizeUrl("https://www.jobs.example.com/view/42/?id=7&utm_source=feed&ref=x#apply");
+        assertEquals("jobs.example.com/view/42?id=7", key);
+        assertEquals(key, JobDeduplicator.normalizeUrl("http://jobs.example.com/view/42?gclid=abc&id=7"));
+        assertNotEquals(key, JobDeduplicator.normalizeUrl("https://jobs.example.com/view/42?id=8"));
+        assertNull(JobDeduplicator.normalizeUrl(" "));
+    }
+
+    @Test
+    void companiesIgnoreCaseAndLegalSuffixes() {
+        assertEquals("acme", JobDeduplicator.normalizeCompany("Acme Inc"));
+        assertEquals(JobDeduplicator.normalizeCompany("ACME"), JobDeduplicator.normalizeCompany("Acme, Inc."));
+        assertEquals("acme", JobDeduplicator.normalizeCompany("Acme GmbH"));
+        assertNull(JobDeduplicator.normalizeCompany("Unknown"));
+    }
+
+    @Test
+    void mergesSameCompanyAndTitle() {
+        List<JobPosting> merged = deduplicator.dedupe(List.of(
+                posting("1", "Backend Engineer", "Acme Inc", "short", "https://a.example/1", "remotive"),
+                posting("2", "backend engineer", "ACME", "short too", "https://b.example/2", "remoteok")));
+
+        assertEquals(1, merged.size());
+    }
+
+    @Test
+    void nearDuplicateDescriptionsMergeOnlyWithSharedCompanyOrTitle() {
+        List<JobPosting> unrelated = deduplicator.dedupe(List.of(
+                posting("1", "Backend Engineer", "Acme", DESCRIPTION, "https://a.example/1", "remotive"),
+                posting("2", "Platform Developer", "Globex", EDITED, "https://b.example/2", "remoteok")));
+        assertEquals(2, unrelated.size());
+
+        List<JobPosting> sameCompany = deduplicator.dedupe(List.of(
+                posting("1", "Backend Engineer", "Acme", DESCRIPTION, "https://a.example/1", "remotive"),
+                posting("2", "Platform Developer", "Acme Ltd", EDITED, "https://b.example/2", "remoteok")));
+        assertEquals(1, sameCompany.size());
+
+        List<JobPosting> sameTitle = deduplicator.dedupe(List.of(
+                posting("1", "Backend Engineer", "Acme", DESCRIPTION, "https://a.example/1", "remotive"),
+                posting("2", "Backend Engineer", "Globex", EDITED, "https://b.example/2", "remoteok")));
+        assertEquals(1, sameTitle.size());
+    }
+
+    @Test
+    void shortDescriptionsAreNotFingerprinted() {
+        List<JobPosting> merged = deduplicator.dedupe(List.of(
+                posting("1", "Backend Engineer", "Acme", "Java and Spring", "https://a.example/1", "remotive"),
+                posting("2", "Platform Developer", "Acme", "Java and Spring", "https://b.example/2", "remoteok")));
+
+        assertEquals(2, merged.size());
+    }
+
+    @Test
+    void mergedPostingKeepsFirstPositionLongestDescriptionAndAllSources() {
+        List<JobPosting> merged = deduplicator.dedupe(List.of(
+                posting("1", "Backend Engineer", "Acme", "short", "https://www.acme.example/jobs/1", "remotive"),
+                posting("2", "Designer", "Initech", "other job", "https://initech.example/2", "remotive"),
+                posting("3", "Backend Engineer", "Acme", "a much longer description", "https://acme.example/jobs/1/?utm_medium=x", "remoteok"),
+                posting("4", "Backend Engineer", "Acme Inc", "mid length", "https://elsewhere.example/4", "arbeitnow", "remoteok")));
+
+        assertEquals(2, merged.size());
+        JobPosting first = merged.get(0);
+        assertEquals("3", first.id());
+        assertEquals("a much longer description", first.description());
+        assertEquals(List.of("remotive", "remoteok", "arbeitnow"), first.sources());
+        assertEquals("2", merged.get(1).id());
+    }
+
+    @Test
+    void sessionPassesOnlyTheFirstOfEachGroup() {
+        JobDeduplicator.Session session = deduplicator.session();
+
+        assertTrue(session.offer(posting("1", "Backend Engineer", "Acme", "short", "https://a.example/1", "remotive")));
+        assertFalse(session.offer(posting("2", "Backend Engineer", "ACME Inc", "short", "https://b.example/2", "remoteok")));
+        assertTrue(session.offer(posting("3", "Designer", "Initech", "short", "https://c.example/3", "remoteok")));
+        assertFalse(session.offer(posting("4", "Recruiter", "Hooli", "short", "https://www.c.example/3/", "remotive")));
+    }
+
+    @Test
+    void disabledLeavesPostingsAlone() {
+        JobDeduplicator disabled = new JobDeduplicator(false, 4, 30);
+        List<JobPosting> jobs = List.of(
+                posting("1", "Backend Engineer", "Acme", "short", "https://a.example/1", "remotive"),
+                posting("2", "Backend Engineer", "Acme", "short", "https://a.example/1", "remoteok"));
+
+        assertSame(jobs, disabled.dedupe(jobs));
+        assertTrue(disabled.session().offer(jobs.get(1)));
+    }
+
+    private static JobPosting posting(String id, String title, String company, String description, String url,
+                                      String... sources) {
+        return new JobPosting(id, title, company, "Remote", description, url, List.of(sources));
+    }
+}
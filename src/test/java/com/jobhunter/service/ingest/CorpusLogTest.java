@@ -0,0 +1,143 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replay of {@link CorpusLog} and how it cuts a journal at a torn or corrupt record.
+ */
+class CorpusLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysEveryRecordInOrder() throws IOException {
+        Path file = dir.resolve("corpus.log");
+        try (CorpusLog log = CorpusLog.open(file, null)) {
+            log.append(new CorpusLog.Batch()
+                    .upsert(stored("a", "Backend Engineer", null))
+                    .touch("remotive:a", 2_000));
+            log.append(new CorpusLog.Batch().remove("remotive:b"));
+        }
+
+        Recorder recorder = new Recorder();
+        try (CorpusLog log = CorpusLog.open(file, recorder)) {
+            assertEquals(3, log.replayed());
+        }
+        assertEquals(List.of("upsert remotive:a", "touch remotive:a 2000", "remove remotive:b"), recorder.events);
+        JobPosting replayed = recorder.upserts.get(0).posting();
+        assertEquals("Backend Engineer", replayed.title());
+        assertNull(replayed.company());
+        assertEquals(List.of("remotive"), replayed.sources());
+    }
+
+    @Test
+    void cutsATornRecordAtTheEnd() throws IOException {
+        Path file = dir.resolve("corpus.log");
+        long complete;
+        try (CorpusLog log = CorpusLog.open(file, null)) {
+            log.append(new CorpusLog.Batch().upsert(stored("a", "Backend Engineer", "Acme")));
+            complete = Files.size(file);
+            log.append(new CorpusLog.Batch().upsert(stored("b", "Data Engineer", "Acme")));
+        }
+        // a crash in the middle of the second record
+        truncate(file, Files.size(file) - 5);
+
+        Recorder recorder = new Recorder();
+        try (CorpusLog log = CorpusLog.open(file, recorder)) {
+            assertEquals(1, log.replayed());
+            assertEquals(complete, Files.size(file));
+            log.append(new CorpusLog.Batch().remove("remotive:a"));
+        }
+        assertEquals(List.of("upsert remotive:a"), recorder.events);
+
+        // appending went on right after the last good record
+        Recorder reopened = new Recorder();
+        CorpusLog.open(file, reopened).close();
+        assertEquals(List.of("upsert remotive:a", "remove remotive:a"), reopened.events);
+    }
+
+    @Test
+    void stopsAtARecordFailingItsChecksum() throws IOException {
+        Path file = dir.resolve("corpus.log");
+        long firstEnd;
+        try (CorpusLog log = CorpusLog.open(file, null)) {
+            log.append(new CorpusLog.Batch().upsert(stored("a", "Backend Engineer", "Acme")));
+            firstEnd = Files.size(file);
+            log.append(new CorpusLog.Batch()
+                    .upsert(stored("b", "Data Engineer", "Acme"))
+                    .upsert(stored("c", "Site Reliability Engineer", "Acme")));
+        }
+        // flip a payload byte of the second record; the third is intact but comes after it
+        flip(file, firstEnd + 2 * Integer.BYTES + 3);
+
+        Recorder recorder = new Recorder();
+        try (CorpusLog log = CorpusLog.open(file, recorder)) {
+            assertEquals(1, log.replayed());
+        }
+        assertEquals(List.of("upsert remotive:a"), recorder.events);
+        assertEquals(firstEnd, Files.size(file));
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAJournal() throws IOException {
+        Path file = dir.resolve("corpus.log");
+        Files.writeString(file, "definitely not a journal");
+
+        assertThrows(IOException.class, () -> CorpusLog.open(file, new Recorder()));
+    }
+
+    static JobStore.StoredPosting stored(String id, String title, String company) {
+        JobPosting posting = new JobPosting(id, title, company, "Remote", "Java and Spring", "https://jobs.example/" + id,
+                List.of("remotive"));
+        return new JobStore.StoredPosting("remotive", posting, 1_000, 1_000);
+    }
+
+    static void truncate(Path file, long length) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(length);
+        }
+    }
+
+    static void flip(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+    }
+
+    private static final class Recorder implements CorpusLog.Visitor {
+
+        final List<String> events = new ArrayList<>();
+        final List<JobStore.StoredPosting> upserts = new ArrayList<>();
+
+        @Override
+        public void upsert(JobStore.StoredPosting stored) {
+            events.add("upsert " + stored.provider() + ":" + stored.posting().id());
+            upserts.add(stored);
+        }
+
+        @Override
+        public void touch(String key, long lastSeenMillis) {
+            events.add("touch " + key + " " + lastSeenMillis);
+        }
+
+        @Override
+        public void remove(String key) {
+            events.add("remove " + key);
+        }
+    }
+}
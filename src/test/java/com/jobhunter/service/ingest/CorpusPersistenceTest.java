@@ -0,0 +1,130 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.scoring.CorpusStatistics;
+import com.jobhunter.text.SkillTaxonomy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.jobhunter.service.ingest.CorpusLogTest.flip;
+import static com.jobhunter.service.ingest.CorpusLogTest.stored;
+import static com.jobhunter.service.ingest.CorpusSnapshotTest.entry;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recovery and compaction of {@link CorpusPersistence} on a temporary directory. Interval and
+ * record threshold are set so that nothing compacts in the background; only closing the store
+ * writes a snapshot.
+ */
+class CorpusPersistenceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restoresWhatWasIngestedBeforeARestart() {
+        JobStore store = open();
+        store.upsert("remotive", List.of(job("a", "Backend Engineer"), job("b", "Data Engineer")));
+        store.close();
+
+        JobStore restored = open();
+        assertEquals(2, restored.size());
+        assertEquals(List.of("a", "b"), ids(restored));
+        restored.close();
+    }
+
+    @Test
+    void compactionReplacesOlderFilesWithASnapshot() throws IOException {
+        JobStore store = open();
+        store.upsert("remotive", List.of(job("a", "Backend Engineer")));
+        assertEquals(List.of("corpus-0000000000000001.log"), files());
+
+        store.close();
+        // the snapshot holds generation 1; the journal it rotated to is all that is left besides it
+        assertEquals(List.of("corpus-0000000000000002.log", "corpus-0000000000000002.snap"), files());
+
+        JobStore restored = open();
+        assertEquals(List.of("a"), ids(restored));
+        restored.close();
+    }
+
+    @Test
+    void replaysJournalsAcrossARotation() throws IOException {
+        // a crash after the journal rotated but before the snapshot was renamed into place
+        try (CorpusLog first = CorpusLog.open(dir.resolve("corpus-0000000000000001.log"), null)) {
+            first.append(new CorpusLog.Batch()
+                    .upsert(stored("a", "Backend Engineer", "Acme"))
+                    .upsert(stored("b", "Data Engineer", "Acme")));
+        }
+        try (CorpusLog second = CorpusLog.open(dir.resolve("corpus-0000000000000002.log"), null)) {
+            second.append(new CorpusLog.Batch()
+                    .remove("remotive:a")
+                    .touch("remotive:b", 5_000));
+        }
+        Files.writeString(dir.resolve("corpus-0000000000000002.snap.tmp"), "half written");
+
+        JobStore store = open();
+        assertEquals(List.of("b"), ids(store));
+        assertEquals(5_000, store.corpusEntries().get(0).stored().lastSeenMillis());
+        assertFalse(Files.exists(dir.resolve("corpus-0000000000000002.snap.tmp")));
+        store.close();
+    }
+
+    @Test
+    void loadsTheNewestSnapshotThatValidates() throws IOException {
+        CorpusSnapshot.write(dir.resolve("corpus-0000000000000001.snap"), 1, List.of(entry("old")));
+        CorpusSnapshot.write(dir.resolve("corpus-0000000000000002.snap"), 2, List.of(entry("good")));
+        Path corrupt = dir.resolve("corpus-0000000000000003.snap");
+        CorpusSnapshot.write(corrupt, 3, List.of(entry("corrupt")));
+        flip(corrupt, Files.size(corrupt) - 1);
+
+        JobStore store = open();
+        assertEquals(List.of("good"), ids(store));
+        store.close();
+    }
+
+    @Test
+    void replaysOnlyJournalsFromTheSnapshotGenerationOn() throws IOException {
+        CorpusSnapshot.write(dir.resolve("corpus-0000000000000002.snap"), 2, List.of(entry("a")));
+        // superseded by the snapshot, left behind by a crash before it was deleted
+        try (CorpusLog stale = CorpusLog.open(dir.resolve("corpus-0000000000000001.log"), null)) {
+            stale.append(new CorpusLog.Batch().upsert(stored("stale", "Backend Engineer", "Acme")));
+        }
+        try (CorpusLog current = CorpusLog.open(dir.resolve("corpus-0000000000000002.log"), null)) {
+            current.append(new CorpusLog.Batch().upsert(stored("b", "Data Engineer", "Acme")));
+        }
+
+        JobStore store = open();
+        assertEquals(List.of("a", "b"), ids(store));
+        store.close();
+        assertFalse(Files.exists(dir.resolve("corpus-0000000000000001.log")));
+    }
+
+    private JobStore open() {
+        CorpusPersistence persistence = new CorpusPersistence(true, dir.toString(), 3600, Long.MAX_VALUE);
+        JobStore store = new JobStore(persistence, new CorpusStatistics(SkillTaxonomy.parse(List.of("java"))));
+        store.restore();
+        return store;
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> ids(JobStore store) {
+        return store.all().stream().map(JobPosting::id).sorted().collect(Collectors.toList());
+    }
+
+    private static JobPosting job(String id, String title) {
+        return new JobPosting(id, title, "Acme", "Remote", "Java and Spring", "https://jobs.example/" + id);
+    }
+}
@@ -0,0 +1,123 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.index.JobIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static com.jobhunter.service.ingest.CorpusLogTest.flip;
+import static com.jobhunter.service.ingest.CorpusLogTest.stored;
+import static com.jobhunter.service.ingest.CorpusLogTest.truncate;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trip through a {@link CorpusSnapshot} file and rejection of damaged ones.
+ */
+class CorpusSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restoresPostingsAndTokens() throws IOException {
+        Path file = dir.resolve("corpus.snap");
+        JobStore.StoredPosting first = stored("a", "Backend Engineer", "Acme");
+        JobStore.StoredPosting second = stored("b", "Data Engineer", "Acme");
+        CorpusSnapshot.write(file, 7, List.of(
+                new CorpusEntry(first, new JobIndex.Tokens(List.of("backend", "engineer"), List.of("java", "spring"))),
+                new CorpusEntry(second, new JobIndex.Tokens(List.of("data", "engineer"), List.of("python")))));
+
+        CorpusSnapshot snapshot = CorpusSnapshot.open(file);
+        assertEquals(7, snapshot.generation());
+        assertEquals(2, snapshot.size());
+        assertEquals(first, snapshot.posting(0));
+        assertEquals(second, snapshot.posting(1));
+        assertEquals(List.of("data", "engineer"), snapshot.tokens(1).title());
+        assertEquals(List.of("python"), snapshot.tokens(1).description());
+        // shared strings come back as one instance
+        assertSame(snapshot.posting(0).posting().company(), snapshot.posting(1).posting().company());
+    }
+
+    @Test
+    void keepsNullFieldsNull() throws IOException {
+        Path file = dir.resolve("corpus.snap");
+        JobPosting posting = new JobPosting("a", "Backend Engineer", null, null, null, "https://jobs.example/a",
+                List.of("remotive"));
+        JobStore.StoredPosting stored = new JobStore.StoredPosting("remotive", posting, 1_000, 2_000);
+        CorpusSnapshot.write(file, 1, List.of(new CorpusEntry(stored, new JobIndex.Tokens(List.of("backend"), List.of()))));
+
+        JobStore.StoredPosting restored = CorpusSnapshot.open(file).posting(0);
+        assertNull(restored.posting().company());
+        assertNull(restored.posting().location());
+        assertNull(restored.posting().description());
+        // otherwise the next ingestion of the same posting would count as a change
+        assertTrue(CompactPosting.of(restored).sameAs(posting));
+    }
+
+    @Test
+    void rejectsAFileFailingItsChecksum() throws IOException {
+        Path file = dir.resolve("corpus.snap");
+        CorpusSnapshot.write(file, 1, List.of(entry("a")));
+        flip(file, Files.size(file) - 1);
+
+        IOException e = assertThrows(IOException.class, () -> CorpusSnapshot.open(file));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path file = dir.resolve("corpus.snap");
+        CorpusSnapshot.write(file, 1, List.of(entry("a")));
+        truncate(file, Files.size(file) - 4);
+
+        IOException e = assertThrows(IOException.class, () -> CorpusSnapshot.open(file));
+        assertTrue(e.getMessage().contains("truncated"), e.getMessage());
+    }
+
+    @Test
+    void rejectsACorruptHeader() throws IOException {
+        Path file = dir.resolve("corpus.snap");
+        CorpusSnapshot.write(file, 1, List.of(entry("a")));
+        flip(file, 20);
+
+        assertThrows(IOException.class, () -> CorpusSnapshot.open(file));
+    }
+
+    @Test
+    void ignoresTokensOfAnOlderTokenizer() throws IOException {
+        Path file = dir.resolve("corpus.snap");
+        CorpusSnapshot.write(file, 1, List.of(entry("a")));
+        rewriteVersion(file, 2);
+
+        CorpusSnapshot snapshot = CorpusSnapshot.open(file);
+        assertEquals("Backend Engineer", snapshot.posting(0).posting().title());
+        assertNull(snapshot.tokens(0));
+    }
+
+    static CorpusEntry entry(String id) {
+        return new CorpusEntry(stored(id, "Backend Engineer", "Acme"),
+                new JobIndex.Tokens(List.of("backend", "engineer"), List.of("java", "spring")));
+    }
+
+    /** Stamps another format version into the header, with a matching header checksum. */
+    private static void rewriteVersion(Path file, int version) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(88);
+            channel.read(header, 0);
+            header.putInt(8, version);
+            CRC32 crc = new CRC32();
+            crc.update(header.array(), 0, 80);
+            header.putLong(80, crc.getValue());
+            channel.write(header.flip(), 0);
+        }
+    }
+}
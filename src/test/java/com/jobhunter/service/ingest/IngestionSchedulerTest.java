@@ -0,0 +1,102 @@
+package com.jobhunter.service.ingest;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.metrics.ProviderMetrics;
+import com.jobhunter.service.provider.JobProvider;
+import com.jobhunter.service.resilience.ProviderResilience;
+import com.jobhunter.service.scoring.CorpusStatistics;
+import com.jobhunter.text.SkillTaxonomy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A keyword provider's ingestion run keeps what its other queries returned when one query
+ * fails, and only fails when all of them do.
+ */
+class IngestionSchedulerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private final JobStore store = new JobStore(new CorpusPersistence(false, "unused", 3600, 1000),
+            new CorpusStatistics(SkillTaxonomy.parse(List.of("java", "rust"))));
+    private IngestionScheduler scheduler;
+
+    @AfterEach
+    void stop() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void keepsThePostingsOfTheQueriesThatSucceeded() throws InterruptedException {
+        ProviderIngestionStatus status = runOnce(new KeywordProvider(Set.of("python")));
+
+        assertEquals(0, status.failures());
+        assertEquals(2, status.lastFetched());
+        assertNull(status.lastError());
+        assertEquals(Set.of("java-1", "rust-1"), store.all().stream().map(JobPosting::id).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void failsTheRunWhenEveryQueryFails() throws InterruptedException {
+        ProviderIngestionStatus status = runOnce(new KeywordProvider(Set.of("java", "python", "rust")));
+
+        assertEquals(1, status.failures());
+        assertEquals(1, status.consecutiveFailures());
+        assertTrue(status.lastError().contains("java"), status.lastError());
+        assertTrue(store.isEmpty());
+    }
+
+    private ProviderIngestionStatus runOnce(JobProvider provider) throws InterruptedException {
+        scheduler = new IngestionScheduler(List.of(provider), new ProviderMetrics(meterRegistry),
+                new ProviderResilience(environment, meterRegistry, true), store, environment,
+                true, List.of("java", "python", "rust"), 3600, 3600, 3600, 48, 1);
+        scheduler.start();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ProviderIngestionStatus status = scheduler.status().get(0);
+            if (status.lastSuccessAt() != null || status.failures() > 0) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        return fail("no ingestion run finished");
+    }
+
+    /**
+     * Returns one posting per query, failing for the given queries.
+     */
+    private static final class KeywordProvider implements JobProvider {
+
+        private final Set<String> failing;
+
+        KeywordProvider(Set<String> failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public List<JobPosting> getJobs(String... keywords) {
+            String query = String.join(" ", keywords);
+            if (failing.contains(query)) {
+                throw new IllegalStateException("Upstream refused query " + query);
+            }
+            return List.of(new JobPosting(query + "-1", query + " developer", "Acme", "Remote",
+                    "Work with " + query, "https://jobs.example/" + query + "-1"));
+        }
+
+        @Override
+        public String name() {
+            return "keywords";
+        }
+    }
+}
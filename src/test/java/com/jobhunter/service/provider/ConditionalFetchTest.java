@@ -0,0 +1,161 @@
+package com.jobhunter.service.provider;
+
+import com.jobhunter.model.JobPosting;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the feed providers against a local stub that honours {@code If-None-Match} and
+ * {@code If-Modified-Since}, counting full downloads and 304s per path.
+ */
+class ConditionalFetchTest {
+
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2026 07:28:00 GMT";
+
+    private HttpServer server;
+    private final Map<String, AtomicInteger> downloads = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> notModified = new ConcurrentHashMap<>();
+    private volatile String remoteOkVersion = "v1";
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api", exchange -> {
+            String etag = "\"" + remoteOkVersion + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified(exchange);
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", etag);
+            respond(exchange, "[{\"legal\":\"terms\"},{\"id\":1,\"position\":\"Java Engineer " + remoteOkVersion
+                    + "\",\"company\":\"acme\",\"description\":\"java\",\"url\":\"https://example.com/1\"}]");
+        });
+        server.createContext("/api/job-board-api", exchange -> {
+            if (LAST_MODIFIED.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since"))) {
+                notModified(exchange);
+                return;
+            }
+            exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+            respond(exchange, "{\"data\":[{\"slug\":\"a\",\"title\":\"Go Developer\",\"company_name\":\"acme\","
+                    + "\"description\":\"go\",\"remote\":true,\"url\":\"https://example.com/a\"}]}");
+        });
+        server.createContext("/jobstories.json", exchange -> {
+            if ("\"stories-1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified(exchange);
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"stories-1\"");
+            respond(exchange, "[11,12,13]");
+        });
+        server.createContext("/item/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring("/item/".length(), path.length() - ".json".length());
+            respond(exchange, "{\"id\":" + id + ",\"type\":\"job\",\"by\":\"acme\",\"title\":\"Engineer " + id + "\"}");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void unchangedFeedIsAnsweredWith304AndReusesTheDecodedJobs() {
+        RemoteOKJobProvider provider = new RemoteOKJobProvider(WebClient.builder(), baseUrl());
+
+        List<JobPosting> first = provider.fetchFeed();
+        List<JobPosting> second = provider.fetchFeed();
+
+        assertEquals(1, downloads("/api"));
+        assertEquals(1, notModified("/api"));
+        assertSame(first, second);
+        assertEquals("Java Engineer v1", second.get(0).title());
+    }
+
+    @Test
+    void changedFeedIsDownloadedAgain() {
+        RemoteOKJobProvider provider = new RemoteOKJobProvider(WebClient.builder(), baseUrl());
+        provider.fetchFeed();
+
+        remoteOkVersion = "v2";
+        List<JobPosting> jobs = provider.fetchFeed();
+
+        assertEquals(2, downloads("/api"));
+        assertEquals(0, notModified("/api"));
+        assertEquals("Java Engineer v2", jobs.get(0).title());
+    }
+
+    @Test
+    void lastModifiedIsSentBackAsIfModifiedSince() {
+        ArbeitnowJobProvider provider = new ArbeitnowJobProvider(WebClient.builder(), new Paginator(new StandardEnvironment()), baseUrl());
+
+        provider.fetchFeed();
+        List<JobPosting> jobs = provider.fetchFeed();
+
+        assertEquals(1, downloads("/api/job-board-api"));
+        assertEquals(1, notModified("/api/job-board-api"));
+        assertEquals("Go Developer", jobs.get(0).title());
+    }
+
+    @Test
+    void hnItemsAreDownloadedOnlyOnce() {
+        YCombinatorJobProvider provider = new YCombinatorJobProvider(WebClient.builder(), baseUrl(), 10, 4, 2_000);
+        try {
+            List<JobPosting> first = provider.fetchFeed();
+            List<JobPosting> second = provider.fetchFeed();
+
+            assertEquals(3, first.size());
+            assertEquals(first, second);
+            assertEquals(1, downloads("/jobstories.json"));
+            assertEquals(1, notModified("/jobstories.json"));
+            assertEquals(3, downloads("/item/"));
+        } finally {
+            provider.close();
+        }
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private int downloads(String context) {
+        return downloads.getOrDefault(context, new AtomicInteger()).get();
+    }
+
+    private int notModified(String context) {
+        return notModified.getOrDefault(context, new AtomicInteger()).get();
+    }
+
+    private void notModified(HttpExchange exchange) throws IOException {
+        notModified.computeIfAbsent(exchange.getHttpContext().getPath(), k -> new AtomicInteger()).incrementAndGet();
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        downloads.computeIfAbsent(exchange.getHttpContext().getPath(), k -> new AtomicInteger()).incrementAndGet();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.jobhunter.service.provider;
+
+import com.jobhunter.model.JobPosting;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the provider against a local stub of the HN API where every item takes a fixed delay,
+ * to check that item fetching is bounded-concurrent rather than sequential.
+ */
+class YCombinatorJobProviderTest {
+
+    private static final int BATCH_SIZE = 32;
+    private static final long ITEM_DELAY_MS = 100;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private volatile Set<Long> slowItemIds = Set.of();
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/jobstories.json", exchange -> respond(exchange, IntStream.rangeClosed(1, BATCH_SIZE)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]"))));
+        server.createContext("/item/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            long id = Long.parseLong(path.substring("/item/".length(), path.length() - ".json".length()));
+            sleep(slowItemIds.contains(id) ? 5_000 : ITEM_DELAY_MS);
+            respond(exchange, "{\"id\":" + id + ",\"type\":\"job\",\"by\":\"acme\",\"title\":\"Java Engineer " + id
+                    + "\",\"text\":\"We use java\",\"url\":\"https://example.com/" + id + "\"}");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void wallClockTimeScalesWithBatchSizeOverConcurrency() {
+        // warm up the client so connection setup and codec initialisation are not measured
+        newProvider(BATCH_SIZE, 2_000).getJobs();
+
+        long narrow = timeGetJobs(newProvider(4, 2_000));
+        long wide = timeGetJobs(newProvider(16, 2_000));
+
+        // 32 items / 4 in flight = 8 waves of 100ms; 32 / 16 = 2 waves
+        assertTrue(narrow >= (BATCH_SIZE / 4) * ITEM_DELAY_MS, "concurrency 4 took only " + narrow + "ms");
+        assertTrue(narrow < (BATCH_SIZE * ITEM_DELAY_MS) / 2, "concurrency 4 looks sequential: " + narrow + "ms");
+        assertTrue(wide * 2 < narrow, "concurrency 16 (" + wide + "ms) should be well under concurrency 4 (" + narrow + "ms)");
+    }
+
+    @Test
+    void slowItemsAreDroppedInsteadOfStallingTheBatch() {
+        // warm up on a separate instance: items are cached per provider once fetched
+        newProvider(8, 500).getJobs();
+        YCombinatorJobProvider provider = newProvider(8, 500);
+        slowItemIds = Set.of(3L, 17L);
+
+        long start = System.nanoTime();
+        List<JobPosting> jobs = provider.getJobs();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(BATCH_SIZE - 2, jobs.size());
+        assertTrue(jobs.stream().noneMatch(job -> job.id().equals("3") || job.id().equals("17")));
+        assertEquals("1", jobs.get(0).id(), "items keep their jobstories order");
+        assertTrue(elapsedMs < 1_500, "slow items stalled the batch for " + elapsedMs + "ms");
+    }
+
+    private YCombinatorJobProvider newProvider(int concurrency, long itemTimeoutMs) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        return new YCombinatorJobProvider(WebClient.builder(), baseUrl, BATCH_SIZE, concurrency, itemTimeoutMs);
+    }
+
+    private static long timeGetJobs(YCombinatorJobProvider provider) {
+        long start = System.nanoTime();
+        List<JobPosting> jobs = provider.getJobs();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(BATCH_SIZE, jobs.size());
+        provider.close();
+        return elapsedMs;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.jobhunter.service.resilience;
+
+import com.jobhunter.service.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * State machine of {@link CircuitBreaker}. An open duration of zero lets the next call through
+ * as a trial at once, and one of an hour keeps the breaker open, so no test waits on the clock.
+ */
+class CircuitBreakerTest {
+
+    private static final Duration STAYS_OPEN = Duration.ofHours(1);
+
+    @Test
+    void opensOnceMinimumCallsReachTheFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(4, 4, STAYS_OPEN, 1));
+
+        failCall(breaker);
+        failCall(breaker);
+        succeedCall(breaker);
+        assertEquals(State.CLOSED, breaker.state());
+
+        failCall(breaker);
+        assertEquals(State.OPEN, breaker.state());
+        assertNull(breaker.tryAcquire());
+        assertNull(breaker.tryAcquire());
+        assertEquals(2, breaker.snapshot().rejectedCalls());
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(10, 4, STAYS_OPEN, 1));
+
+        failCall(breaker);
+        failCall(breaker);
+        failCall(breaker);
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(3, breaker.snapshot().failedCalls());
+    }
+
+    @Test
+    void oldOutcomesSlideOutOfTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(4, 4, STAYS_OPEN, 1));
+
+        failCall(breaker);
+        succeedCall(breaker);
+        succeedCall(breaker);
+        succeedCall(breaker);
+        // the first failure is pushed out, so this one makes 1/4 again
+        failCall(breaker);
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(4, breaker.snapshot().bufferedCalls());
+        assertEquals(1, breaker.snapshot().failedCalls());
+    }
+
+    @Test
+    void halfOpenClosesAfterEveryTrialSucceeds() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(2, 2, Duration.ZERO, 2));
+        failCall(breaker);
+        failCall(breaker);
+        assertEquals(State.OPEN, breaker.state());
+
+        State first = breaker.tryAcquire();
+        State second = breaker.tryAcquire();
+        assertEquals(State.HALF_OPEN, first);
+        assertEquals(State.HALF_OPEN, second);
+        assertNull(breaker.tryAcquire(), "only half_open_calls trials may be in flight");
+
+        breaker.onSuccess(first);
+        assertEquals(State.HALF_OPEN, breaker.state());
+        breaker.onSuccess(second);
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(0, breaker.snapshot().bufferedCalls(), "closing starts with an empty window");
+    }
+
+    @Test
+    void halfOpenReopensOnTheFirstFailedTrial() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(2, 2, Duration.ZERO, 2));
+        failCall(breaker);
+        failCall(breaker);
+
+        State trial = breaker.tryAcquire();
+        assertEquals(State.HALF_OPEN, trial);
+        breaker.onFailure(trial);
+
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void ignoresOutcomesOfCallsAdmittedInAnEarlierState() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(2, 2, Duration.ZERO, 1));
+        State slowCall = breaker.tryAcquire();
+        failCall(breaker);
+        failCall(breaker);
+        State trial = breaker.tryAcquire();
+        assertEquals(State.HALF_OPEN, trial);
+
+        // the slow call finishes while the trial is in flight: it neither closes nor reopens
+        breaker.onSuccess(slowCall);
+        assertEquals(State.HALF_OPEN, breaker.state());
+        breaker.onFailure(slowCall);
+        assertEquals(State.HALF_OPEN, breaker.state());
+
+        breaker.onSuccess(trial);
+        assertEquals(State.CLOSED, breaker.state());
+    }
+
+    private static void failCall(CircuitBreaker breaker) {
+        breaker.onFailure(breaker.tryAcquire());
+    }
+
+    private static void succeedCall(CircuitBreaker breaker) {
+        breaker.onSuccess(breaker.tryAcquire());
+    }
+
+    private static ResilienceSettings settings(int windowSize, int minimumCalls, Duration openDuration,
+                                               int halfOpenCalls) {
+        return new ResilienceSettings(0.5, windowSize, minimumCalls, openDuration, halfOpenCalls,
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 2.0, 10);
+    }
+}
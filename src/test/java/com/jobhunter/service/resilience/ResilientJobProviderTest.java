@@ -0,0 +1,119 @@
+package com.jobhunter.service.resilience;
+
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.service.provider.JobProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Timeouts and failure counting of {@link ResilientJobProvider}, against stub providers that
+ * fail, sleep or ignore interrupts. The timeout is pinned to {@link #TIMEOUT_MS} by giving it
+ * equal bounds and never enough latencies to adapt.
+ */
+class ResilientJobProviderTest {
+
+    private static final long TIMEOUT_MS = 200;
+
+    private static final List<JobPosting> JOBS =
+            List.of(new JobPosting("1", "Backend Engineer", "Acme", "Remote", "Java", "https://a.example/1"));
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void stopWatchdog() {
+        watchdog.shutdownNow();
+    }
+
+    @Test
+    void fastCallsPassThrough() {
+        ResilientJobProvider provider = resilient(stub(() -> JOBS), 5);
+
+        assertEquals(JOBS, provider.getJobs("java"));
+        assertEquals(CircuitBreaker.State.CLOSED, provider.state());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void interruptsACallThatOutlivesTheTimeout() {
+        ResilientJobProvider provider = resilient(stub(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                // what a blocking WebClient call does when its thread is interrupted
+                throw new IllegalStateException("interrupted", e);
+            }
+            return JOBS;
+        }), 5);
+
+        long start = System.nanoTime();
+        assertThrows(ProviderTimeoutException.class, () -> provider.getJobs("java"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis >= TIMEOUT_MS && elapsedMillis < 5_000, elapsedMillis + "ms");
+        assertFalse(Thread.currentThread().isInterrupted(), "the interrupt must not leak to the caller");
+        assertEquals(1, provider.status().timeouts());
+        assertEquals(1, provider.status().failedCalls());
+    }
+
+    @Test
+    void aCallThatIgnoresTheInterruptStillTimesOut() {
+        ResilientJobProvider provider = resilient(stub(() -> {
+            long until = System.nanoTime() + Duration.ofMillis(TIMEOUT_MS * 2).toNanos();
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            return JOBS;
+        }), 5);
+
+        assertThrows(ProviderTimeoutException.class, () -> provider.getJobs("java"));
+        assertFalse(Thread.currentThread().isInterrupted(), "the interrupt must not leak to the caller");
+        assertEquals(1, provider.status().timeouts());
+    }
+
+    @Test
+    void failuresOpenTheBreakerAndStopCallingUpstream() {
+        AtomicInteger calls = new AtomicInteger();
+        ResilientJobProvider provider = resilient(stub(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("upstream down");
+        }), 2);
+
+        assertThrows(IllegalStateException.class, () -> provider.getJobs("java"));
+        assertThrows(IllegalStateException.class, () -> provider.getJobs("java"));
+        assertEquals(CircuitBreaker.State.OPEN, provider.state());
+
+        assertThrows(CircuitOpenException.class, () -> provider.getJobs("java"));
+        assertEquals(2, calls.get());
+        assertEquals(1, provider.status().rejectedCalls());
+        assertEquals(0, provider.status().timeouts());
+    }
+
+    private ResilientJobProvider resilient(JobProvider delegate, int minimumCalls) {
+        ResilienceSettings settings = new ResilienceSettings(0.5, minimumCalls, minimumCalls, Duration.ofHours(1), 1,
+                Duration.ofMillis(TIMEOUT_MS), Duration.ofMillis(TIMEOUT_MS), 2.0, 10);
+        return ResilientJobProvider.of(delegate, settings, watchdog);
+    }
+
+    private static JobProvider stub(Supplier<List<JobPosting>> jobs) {
+        return new JobProvider() {
+            @Override
+            public List<JobPosting> getJobs(String... keywords) {
+                return jobs.get();
+            }
+
+            @Override
+            public String name() {
+                return "stub";
+            }
+        };
+    }
+}
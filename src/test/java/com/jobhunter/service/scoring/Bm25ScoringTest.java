@@ -0,0 +1,89 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.model.CandidateProfile;
+import com.jobhunter.model.JobPosting;
+import com.jobhunter.text.Tokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.jobhunter.service.scoring.CorpusStatisticsTest.TAXONOMY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link Bm25Scoring} against a hand-built corpus in which java is common and rust is rare.
+ */
+class Bm25ScoringTest {
+
+    private static final String JAVA_JOB = "java developer for our platform team";
+    private static final String RUST_JOB = "rust developer for our platform team";
+
+    private final CorpusStatistics statistics = new CorpusStatistics(TAXONOMY);
+    private final Bm25Scoring scoring = new Bm25Scoring(TAXONOMY, statistics, 1.2, 0.75, 0.3);
+
+    @Test
+    void ranksARareSkillAboveACommonOne() {
+        for (int i = 0; i < 50; i++) {
+            statistics.add("java-" + i, Tokenizer.tokenize(JAVA_JOB));
+        }
+        statistics.add("rust", Tokenizer.tokenize(RUST_JOB));
+        ScoringStrategy.ProfileScorer scorer = scoring.compile(profile(List.of("java", "rust"), List.of()));
+
+        ScoringStrategy.Score java = scorer.score(job(JAVA_JOB));
+        ScoringStrategy.Score rust = scorer.score(job(RUST_JOB));
+
+        // same length and one skill each: only the inverse document frequency tells them apart
+        assertTrue(rust.total() > java.total(), java + " vs " + rust);
+        assertTrue(java.total() > 0, java.toString());
+        assertEquals(0.5, java.skill(), 1e-9);
+        assertEquals(0.5, rust.skill(), 1e-9);
+    }
+
+    @Test
+    void weighsSkillsEquallyWhenEquallyCommon() {
+        statistics.add("a", Tokenizer.tokenize(JAVA_JOB));
+        statistics.add("b", Tokenizer.tokenize(RUST_JOB));
+        ScoringStrategy.ProfileScorer scorer = scoring.compile(profile(List.of("java", "rust"), List.of()));
+
+        assertEquals(scorer.score(job(JAVA_JOB)).total(), scorer.score(job(RUST_JOB)).total(), 1e-9);
+    }
+
+    @Test
+    void staysWithinBoundsAndBlendsTheTitle() {
+        statistics.add("a", Tokenizer.tokenize(JAVA_JOB));
+        statistics.add("b", Tokenizer.tokenize(RUST_JOB));
+        ScoringStrategy.ProfileScorer scorer = scoring.compile(profile(List.of("java", "rust"), List.of("engineer")));
+
+        ScoringStrategy.Score both = scorer.score(new JobPosting("1", "Senior Engineer", "Acme", "Remote",
+                "java and rust", "https://jobs.example/1"));
+
+        assertEquals(1.0, both.title());
+        assertEquals(1.0, both.skill(), 1e-9);
+        assertTrue(both.total() > 0.3 && both.total() <= 1.0, both.toString());
+        assertEquals(0, scorer.score(job(null)).total());
+    }
+
+    @Test
+    void matchesNarrowerAndUnknownSkills() {
+        ScoringStrategy.ProfileScorer scorer = scoring.compile(profile(List.of("spring", "cobol"), List.of()));
+
+        ScoringStrategy.Score score = scorer.score(job("spring boot and cobol"));
+
+        assertEquals(1.0, score.skill(), 1e-9);
+        assertTrue(score.total() > 0, score.toString());
+    }
+
+    @Test
+    void rejectsParametersOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new Bm25Scoring(TAXONOMY, statistics, 1.2, 2, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new Bm25Scoring(TAXONOMY, statistics, -1, 0.75, 0.3));
+    }
+
+    private static CandidateProfile profile(List<String> skills, List<String> titles) {
+        return new CandidateProfile("Candidate", 3, skills, titles);
+    }
+
+    private static JobPosting job(String description) {
+        return new JobPosting("1", "Developer", "Acme", "Remote", description, "https://jobs.example/1");
+    }
+}
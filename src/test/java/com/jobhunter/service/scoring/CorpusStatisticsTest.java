@@ -0,0 +1,88 @@
+package com.jobhunter.service.scoring;
+
+import com.jobhunter.text.SkillTaxonomy;
+import com.jobhunter.text.Tokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CorpusStatistics} keeps document frequencies and lengths exact as postings are added,
+ * replaced and removed.
+ */
+class CorpusStatisticsTest {
+
+    static final SkillTaxonomy TAXONOMY = SkillTaxonomy.parse(List.of(
+            "java", "spring < java", "spring boot < spring", "kotlin", "rust"));
+
+    private static final int JAVA = TAXONOMY.skillId("java");
+    private static final int SPRING = TAXONOMY.skillId("spring");
+    private static final int RUST = TAXONOMY.skillId("rust");
+    private static final int KOTLIN = TAXONOMY.skillId("kotlin");
+
+    private final CorpusStatistics statistics = new CorpusStatistics(TAXONOMY);
+
+    @Test
+    void startsEmpty() {
+        assertEquals(0, statistics.documents());
+        assertEquals(0, statistics.documentFrequency(JAVA));
+        assertEquals(0, statistics.averageLength());
+    }
+
+    @Test
+    void countsEachSkillOncePerPosting() {
+        statistics.add("a", Tokenizer.tokenize("rust, rust and more rust"));
+        statistics.add("b", Tokenizer.tokenize("rust or kotlin"));
+
+        assertEquals(2, statistics.documents());
+        assertEquals(2, statistics.documentFrequency(RUST));
+        assertEquals(1, statistics.documentFrequency(KOTLIN));
+        assertEquals(0, statistics.documentFrequency(JAVA));
+        assertEquals(4.0, statistics.averageLength(), 1e-9);
+    }
+
+    @Test
+    void countsBroaderSkillsOfAMention() {
+        statistics.add("a", Tokenizer.tokenize("spring boot services"));
+        statistics.add("b", Tokenizer.tokenize("java and spring"));
+
+        assertEquals(2, statistics.documentFrequency(JAVA));
+        assertEquals(2, statistics.documentFrequency(SPRING));
+        assertEquals(1, statistics.documentFrequency(TAXONOMY.skillId("spring boot")));
+    }
+
+    @Test
+    void replacesWhatWasCountedUnderTheSameKey() {
+        statistics.add("a", Tokenizer.tokenize("spring boot and java"));
+        statistics.add("b", Tokenizer.tokenize("rust"));
+
+        statistics.add("a", Tokenizer.tokenize("rust rust"));
+
+        assertEquals(2, statistics.documents());
+        assertEquals(0, statistics.documentFrequency(JAVA));
+        assertEquals(0, statistics.documentFrequency(SPRING));
+        assertEquals(2, statistics.documentFrequency(RUST));
+        assertEquals(1.5, statistics.averageLength(), 1e-9);
+    }
+
+    @Test
+    void removesAPostingAndIgnoresUnknownKeys() {
+        statistics.add("a", Tokenizer.tokenize("java and rust"));
+        statistics.add("b", Tokenizer.tokenize("rust"));
+
+        statistics.remove("a");
+        statistics.remove("missing");
+
+        assertEquals(1, statistics.documents());
+        assertEquals(0, statistics.documentFrequency(JAVA));
+        assertEquals(1, statistics.documentFrequency(RUST));
+        assertEquals(1.0, statistics.averageLength(), 1e-9);
+
+        statistics.remove("b");
+        assertEquals(0, statistics.documents());
+        assertEquals(0, statistics.documentFrequency(RUST));
+        assertEquals(0, statistics.averageLength());
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobhunter.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AhoCorasick} must agree with a case-insensitive {@code contains} for every pattern, in
+ * particular where a partial match has to fall back through a failure link.
+ */
+class AhoCorasickTest {
+
+    @Test
+    void findsEveryPatternIgnoringCase() {
+        AhoCorasick matcher = AhoCorasick.compile(List.of("Backend Engineer", "java", "Platform"));
+        boolean[] hits = new boolean[3];
+
+        assertEquals(2, matcher.findAll("Senior BACKEND engineer (Java)", hits));
+        assertArrayEquals(new boolean[] {true, true, false}, hits);
+        assertTrue(matcher.containsAny("platform team"));
+        assertFalse(matcher.containsAny("Frontend Engineer"));
+    }
+
+    @Test
+    void matchesSubstringsNotWords() {
+        // titles are matched as substrings; whole-word matching is PhraseMatcher's job
+        AhoCorasick matcher = AhoCorasick.compile(List.of("go", "java"));
+        boolean[] hits = new boolean[2];
+
+        assertEquals(2, matcher.findAll("good javascript", hits));
+    }
+
+    @Test
+    void fallsBackThroughFailureLinks() {
+        AhoCorasick matcher = AhoCorasick.compile(List.of("he", "she", "his", "hers"));
+        boolean[] hits = new boolean[4];
+
+        // "ushers": the "she" branch must fall back to "he" and continue into "hers"
+        assertEquals(3, matcher.findAll("ushers", hits));
+        assertArrayEquals(new boolean[] {true, true, false, true}, hits);
+
+        AhoCorasick overlapping = AhoCorasick.compile(List.of("aab"));
+        assertTrue(overlapping.containsAny("aaab"));
+    }
+
+    @Test
+    void reportsAlreadySetHitsOnlyOnce() {
+        AhoCorasick matcher = AhoCorasick.compile(List.of("java", "java"));
+        boolean[] hits = new boolean[2];
+
+        assertEquals(2, matcher.findAll("java java", hits));
+        assertEquals(0, matcher.findAll("java", hits));
+    }
+
+    @Test
+    void emptyPatternMatchesEveryText() {
+        AhoCorasick matcher = AhoCorasick.compile(List.of("", "rust"));
+
+        assertTrue(matcher.containsAny(""));
+        assertEquals(0, AhoCorasick.compile(List.of()).findAll("anything", new boolean[0]));
+    }
+
+    @Test
+    void agreesWithContainsOnRandomInput() {
+        Random random = new Random(1);
+        String alphabet = "abAB É é+#.";
+        for (int round = 0; round < 2000; round++) {
+            List<String> patterns = random.ints(random.nextInt(6), 0, 4)
+                    .mapToObj(length -> randomText(random, alphabet, length))
+                    .toList();
+            String text = randomText(random, alphabet, random.nextInt(30));
+            boolean[] hits = new boolean[patterns.size()];
+            AhoCorasick.compile(patterns).findAll(text, hits);
+            for (int i = 0; i < patterns.size(); i++) {
+                boolean expected = text.toLowerCase(Locale.ROOT).contains(patterns.get(i).toLowerCase(Locale.ROOT));
+                assertEquals(expected, hits[i], patterns.get(i) + " in " + text);
+            }
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.jobhunter.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link PhraseMatcher} matches whole tokens only, unlike {@link AhoCorasick}.
+ */
+class PhraseMatcherTest {
+
+    @Test
+    void matchesWholeWordsOnly() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("go", "java"));
+        boolean[] hits = new boolean[2];
+
+        assertEquals(0, matcher.findAll(Tokenizer.tokenize("good javascript google"), hits));
+        assertEquals(2, matcher.findAll(Tokenizer.tokenize("Go and Java"), hits));
+        assertArrayEquals(new boolean[] {true, true}, hits);
+    }
+
+    @Test
+    void matchesMultiWordPhrasesAcrossPunctuation() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("spring boot", "spring"));
+        boolean[] hits = new boolean[2];
+
+        assertEquals(2, matcher.findAll(Tokenizer.tokenize("Spring-Boot services"), hits));
+        assertEquals(0, matcher.findAll(Tokenizer.tokenize("spring boot"), hits), "already set");
+        assertFalse(PhraseMatcher.compile(List.of("spring boot")).findAll(Tokenizer.tokenize("boot spring"), new boolean[1]) > 0);
+    }
+
+    @Test
+    void findsAPhraseRightBeforeAFullStop() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("java", "node.js"));
+        boolean[] hits = new boolean[2];
+
+        assertEquals(2, matcher.findAll(Tokenizer.tokenize("We use Java.We also run Node.js.Nothing else"), hits));
+    }
+
+    @Test
+    void reportsEveryOccurrenceInOrder() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("java", "spring", "spring boot"));
+        List<Integer> ids = new ArrayList<>();
+
+        matcher.forEachMatch(Tokenizer.tokenize("java, spring boot and java"), ids::add);
+
+        assertEquals(List.of(0, 1, 2, 0), ids);
+    }
+
+    @Test
+    void ignoresPhrasesWithoutTokens() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("--", "rust"));
+
+        assertEquals(2, matcher.phraseCount());
+        boolean[] hits = new boolean[2];
+        assertEquals(1, matcher.findAll(Tokenizer.tokenize("rust -- rust"), hits));
+        assertArrayEquals(new boolean[] {false, true}, hits);
+    }
+}
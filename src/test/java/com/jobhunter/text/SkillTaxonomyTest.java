@@ -0,0 +1,108 @@
+package com.jobhunter.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing of the taxonomy format, alias and broader-skill resolution, and mentions in text.
+ */
+class SkillTaxonomyTest {
+
+    private static final SkillTaxonomy TAXONOMY = SkillTaxonomy.parse(List.of(
+            "# languages",
+            "java",
+            "javascript: js, ecmascript",
+            "go: golang",
+            "",
+            "spring boot: springboot < spring",
+            "spring < java",
+            "node.js: nodejs < javascript"));
+
+    @Test
+    void resolvesAliasesToTheirSkill() {
+        int javascript = TAXONOMY.skillId("javascript");
+
+        assertEquals(1, javascript);
+        assertEquals(javascript, TAXONOMY.skillId("JS"));
+        assertEquals(javascript, TAXONOMY.skillId("ECMAScript"));
+        assertEquals(TAXONOMY.skillId("spring boot"), TAXONOMY.skillId("Spring-Boot"));
+        assertEquals(TAXONOMY.skillId("node.js"), TAXONOMY.skillId("NodeJS"));
+        assertEquals(-1, TAXONOMY.skillId("cobol"));
+    }
+
+    @Test
+    void resolvesBroaderSkillsTransitively() {
+        int springBoot = TAXONOMY.skillId("spring boot");
+        int spring = TAXONOMY.skillId("spring");
+        int java = TAXONOMY.skillId("java");
+
+        // "spring boot" names "spring" before it is defined
+        assertEquals(List.of(java, spring), sorted(TAXONOMY.broader(springBoot)));
+        assertEquals(List.of(java), sorted(TAXONOMY.broader(spring)));
+        assertEquals(List.of(), sorted(TAXONOMY.broader(java)));
+        assertEquals(List.of(springBoot, spring), sorted(TAXONOMY.narrower(java)));
+    }
+
+    @Test
+    void rejectsAnUnknownBroaderSkill() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SkillTaxonomy.parse(List.of("spring < jvm")));
+        assertTrue(e.getMessage().contains("jvm"), e.getMessage());
+    }
+
+    @Test
+    void mentionsWholeWordsOnly() {
+        assertEquals(List.of(), TAXONOMY.mentioned(Tokenizer.tokenize("A good JavaScripter googling springs")));
+        assertEquals(List.of("java", "javascript", "go"),
+                TAXONOMY.mentioned(Tokenizer.tokenize("Go, Java and JS")));
+    }
+
+    @Test
+    void mentionsASkillRightBeforeAFullStop() {
+        // "node.js" is the phrase "node js", whose "js" also names javascript
+        assertEquals(List.of("java", "javascript", "node.js"),
+                TAXONOMY.mentioned(Tokenizer.tokenize("We use Java.We also run Node.js.Nothing else.")));
+    }
+
+    @Test
+    void reportsAliasesUnderTheCanonicalNameAndBroaderSkillsOnlyWhenMentioned() {
+        assertEquals(List.of("go", "spring boot"), TAXONOMY.mentioned(Tokenizer.tokenize("Golang and SpringBoot")));
+
+        List<Integer> mentions = new ArrayList<>();
+        TAXONOMY.forEachMention(Tokenizer.tokenize("golang, go"), mentions::add);
+        assertEquals(List.of(2, 2), mentions);
+    }
+
+    @Test
+    void fingerprintIgnoresCommentsAndBlankLines() {
+        SkillTaxonomy plain = SkillTaxonomy.parse(List.of("java", "spring < java"));
+        SkillTaxonomy commented = SkillTaxonomy.parse(List.of("# jvm", "  java", "", "spring < java"));
+        SkillTaxonomy changed = SkillTaxonomy.parse(List.of("java", "spring"));
+
+        assertEquals(plain.fingerprint(), commented.fingerprint());
+        assertNotEquals(plain.fingerprint(), changed.fingerprint());
+    }
+
+    @Test
+    void loadsTheShippedTaxonomy() throws IOException {
+        SkillTaxonomy shipped;
+        try (InputStream in = getClass().getResourceAsStream("/skills.txt")) {
+            shipped = SkillTaxonomy.load(in);
+        }
+
+        assertEquals(List.of("javascript", "node.js", "express.js", "dotnet"),
+                shipped.mentioned(Tokenizer.tokenize("Express.js on Node.js, ASP.NET")));
+        assertTrue(sorted(shipped.broader(shipped.skillId("spring boot"))).contains(shipped.skillId("java")));
+    }
+
+    private static List<Integer> sorted(int[] ids) {
+        return Arrays.stream(ids).sorted().boxed().toList();
+    }
+}
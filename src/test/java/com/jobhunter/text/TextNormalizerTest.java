@@ -0,0 +1,90 @@
+package com.jobhunter.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTML stripping, entity decoding and folding of {@link TextNormalizer}.
+ */
+class TextNormalizerTest {
+
+    @Test
+    void decodesEntities() {
+        assertEquals("R&D <team> \"quoted\" it's", TextNormalizer.plainText("R&amp;D &lt;team&gt; &quot;quoted&quot; it&#39;s"));
+        assertEquals("2019–2023 €50k", TextNormalizer.plainText("2019&#x2013;2023 &euro;50k"));
+        assertEquals("Café", TextNormalizer.plainText("Caf&eacute;"));
+    }
+
+    @Test
+    void keepsWhatIsNotAnEntity() {
+        assertEquals("AT&T & co", TextNormalizer.plainText("AT&T & co"));
+        assertEquals("&unknown; &#xZZ; &#0;", TextNormalizer.plainText("&unknown; &#xZZ; &#0;"));
+    }
+
+    @Test
+    void dropsTagsCommentsScriptsAndStyles() {
+        String html = "<div class=\"intro\"><b>Java</b> developer<!-- internal note --></div>"
+                + "<script type=\"text/javascript\">if (a < b) { track('<p>'); }</script>"
+                + "<style>p > b { color: red }</style><p>Remote</p>";
+
+        assertEquals("Java developer\nRemote", TextNormalizer.plainText(html));
+    }
+
+    @Test
+    void aQuotedGreaterThanDoesNotCloseATag() {
+        assertEquals("Apply", TextNormalizer.plainText("<a title=\"a > b\" href='x>y'>Apply</a>"));
+    }
+
+    @Test
+    void keepsWordsOnEitherSideOfATagApart() {
+        assertEquals("Java\nSpring Boot", TextNormalizer.plainText("Java<br>Spring<span> </span>Boot"));
+        assertEquals("go rust", TextNormalizer.plainText("go<i>rust</i>"));
+    }
+
+    @Test
+    void keepsALessThanThatOpensNoTag() {
+        assertEquals("salary < 100k and 3 <5", TextNormalizer.plainText("salary < 100k and 3 <5"));
+    }
+
+    @Test
+    void collapsesWhitespaceAndTrims() {
+        assertEquals("Senior Java Engineer", TextNormalizer.plainText("  Senior \t Java  Engineer \n"));
+    }
+
+    @Test
+    void foldsCaseAccentsAndCompatibilityForms() {
+        assertEquals("cafe creme", TextNormalizer.fold("Café Crème"));
+        assertEquals("zurich", TextNormalizer.fold("Z&uuml;rich"));
+        assertEquals("file", TextNormalizer.fold("ﬁle"));
+        assertEquals("java developer", TextNormalizer.fold("<b>JAVA</b> Developer"));
+    }
+
+    @Test
+    void returnsCleanTextAsIs() {
+        String clean = "java developer";
+        assertSame(clean, TextNormalizer.fold(clean));
+        assertSame(clean, TextNormalizer.plainText(clean));
+        assertNull(TextNormalizer.fold(null));
+    }
+
+    @Test
+    void unclosedQuotesDoNotMakeItQuadratic() {
+        // every "<a" opens a quote that is never closed; each must not be scanned to the end
+        String malformed = "<a href=\"x ".repeat(50_000);
+
+        String plain = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> TextNormalizer.plainText(malformed));
+        assertEquals(malformed.trim(), plain);
+    }
+
+    @Test
+    void treatsATagLongerThanTheBoundAsText() {
+        String longTag = "<img alt=\"" + "x".repeat(TextNormalizer.MAX_TAG_LENGTH) + "\">";
+        String shortTag = "<img alt=\"" + "x".repeat(100) + "\">";
+
+        assertEquals("a " + longTag + " b", TextNormalizer.plainText("a " + longTag + " b"));
+        assertEquals("a b", TextNormalizer.plainText("a " + shortTag + " b"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.jobhunter.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Token boundaries of {@link Tokenizer}: what joins characters into one token and what splits
+ * them.
+ */
+class TokenizerTest {
+
+    @Test
+    void lowercasesAndDropsPunctuation() {
+        assertEquals(List.of("senior", "java", "engineer", "remote"),
+                Tokenizer.tokenize("Senior Java Engineer (Remote)!"));
+        assertEquals(List.of(), Tokenizer.tokenize(" -- "));
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+    }
+
+    @Test
+    void keepsTechnologySymbols() {
+        assertEquals(List.of("c++", "c#", "and", "f#"), Tokenizer.tokenize("C++, C# and F#"));
+    }
+
+    @Test
+    void splitsAtAFullStopWithoutSpace() {
+        // a skill right before a period must stay a token of its own
+        assertEquals(List.of("we", "use", "java", "we", "ship", "weekly"),
+                Tokenizer.tokenize("We use Java.We ship weekly."));
+    }
+
+    @Test
+    void splitsDottedNamesIntoTheirParts() {
+        assertEquals(List.of("node", "js", "and", "asp", "net"), Tokenizer.tokenize("Node.js and ASP.NET"));
+        assertEquals(Tokenizer.tokenize("node js"), Tokenizer.tokenize("node.js"));
+    }
+
+    @Test
+    void foldsAccents() {
+        assertEquals(List.of("munchen", "zurich", "cafe"), Tokenizer.tokenize("München, Zürich café"));
+    }
+
+    @Test
+    void splitsAtHyphensAndSlashes() {
+        assertEquals(List.of("spring", "boot", "kotlin", "java"), Tokenizer.tokenize("spring-boot kotlin/java"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.jobhunter.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link WeakInterner} shares equal strings and forgets them once they are no longer used.
+ */
+class WeakInternerTest {
+
+    @Test
+    void returnsTheFirstInstanceForEqualStrings() {
+        WeakInterner interner = new WeakInterner();
+        String first = new String("Remote");
+        String second = new String("Remote");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.intern("Remote"));
+        assertNull(interner.intern(null));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void dropsStringsNothingReferencesAnyMore() throws InterruptedException {
+        WeakInterner interner = new WeakInterner();
+        String kept = interner.intern(new String("kept"));
+        for (int i = 0; i < 10_000; i++) {
+            interner.intern("posting title " + i);
+        }
+
+        for (int attempt = 0; attempt < 50 && interner.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, interner.size());
+        assertSame(kept, interner.intern(new String("kept")));
+    }
+}